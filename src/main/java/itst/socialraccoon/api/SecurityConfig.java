@@ -1,7 +1,11 @@
 package itst.socialraccoon.api;
 
+import itst.socialraccoon.api.filters.AccessTokenFilter;
 import itst.socialraccoon.api.models.AuthenticationModel;
+import itst.socialraccoon.api.services.AccessTokenService;
+import itst.socialraccoon.api.services.AuthenticationCacheService;
 import itst.socialraccoon.api.services.AuthenticationService;
+import itst.socialraccoon.api.utils.CachingPasswordEncoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,11 +13,13 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -24,7 +30,7 @@ import static org.springframework.security.config.Customizer.withDefaults;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AccessTokenService accessTokenService) throws Exception {
         try {
             http
                     .csrf(csrf -> csrf.disable()) // Disable CSRF protection (optional, but often needed for API)
@@ -37,10 +43,14 @@ public class SecurityConfig {
                             .requestMatchers(HttpMethod.PUT, "/").authenticated()
                             .requestMatchers(HttpMethod.DELETE, "/").authenticated()
                             .anyRequest().authenticated())
+                    .addFilterBefore(new AccessTokenFilter(accessTokenService), BasicAuthenticationFilter.class) // Bearer tokens skip the BCrypt check
                     .httpBasic(Customizer.withDefaults()) // Use HTTP Basic authentication
                     .formLogin(withDefaults())
                     .rememberMe(withDefaults())
-                    .logout(logout -> logout.logoutUrl("/signout").permitAll());
+                    .logout(logout -> logout.logoutUrl("/signout")
+                            .addLogoutHandler((request, response, authentication) ->
+                                    accessTokenService.revoke(AccessTokenFilter.resolveToken(request)))
+                            .permitAll());
 
             return http.build();
         } catch (Exception e) {
@@ -49,21 +59,28 @@ public class SecurityConfig {
     }
 
     @Bean
-    public UserDetailsService userDetailsService(AuthenticationService authenticationService) {
+    public UserDetailsService userDetailsService(AuthenticationService authenticationService,
+                                                 AuthenticationCacheService authenticationCache) {
         return email -> {
-            AuthenticationModel authentication = authenticationService.findByEmail(email);
-            if (authentication == null) {
+            UserDetails userDetails = authenticationCache.getUserDetails(email, key -> {
+                AuthenticationModel authentication = authenticationService.findByEmail(key);
+                if (authentication == null) {
+                    return null;
+                }
+                return User.withUsername(authentication.getEmail())
+                        .password(authentication.getPassword())
+                        .build();
+            });
+            if (userDetails == null) {
                 throw new UsernameNotFoundException("User not found with email: " + email);
             }
-            return User.withUsername(authentication.getEmail())
-                    .password(authentication.getPassword())
-                    .build();
+            return userDetails;
         };
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AuthenticationCacheService authenticationCache) {
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(), authenticationCache);
     }
 
     @Bean
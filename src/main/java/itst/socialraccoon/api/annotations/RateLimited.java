@@ -0,0 +1,21 @@
+package itst.socialraccoon.api.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Limits how often one authenticated user may call the annotated endpoint. Endpoints sharing a
+ * {@link Category} share the same bucket.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+
+    Category value();
+
+    enum Category {
+        REACTION,
+        COMMENT,
+        IMAGE_UPLOAD
+    }
+}
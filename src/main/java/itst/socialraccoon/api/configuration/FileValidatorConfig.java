@@ -0,0 +1,20 @@
+package itst.socialraccoon.api.configuration;
+
+import itst.socialraccoon.api.validators.ContentModerationValidationStrategy;
+import itst.socialraccoon.api.validators.FileValidator;
+import itst.socialraccoon.api.validators.PerceptualHashValidationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FileValidatorConfig {
+
+    public static final String POST_IMAGE_VALIDATOR = "postImageValidator";
+
+    @Bean(name = POST_IMAGE_VALIDATOR)
+    public FileValidator postImageValidator(
+            PerceptualHashValidationStrategy perceptualHashStrategy,
+            ContentModerationValidationStrategy contentModerationStrategy) {
+        return new FileValidator(perceptualHashStrategy, contentModerationStrategy);
+    }
+}
@@ -0,0 +1,80 @@
+package itst.socialraccoon.api.controllers;
+
+import itst.socialraccoon.api.annotations.GlobalApiResponses;
+import itst.socialraccoon.api.dtos.AccessTokenDTO;
+import itst.socialraccoon.api.dtos.SignInDTO;
+import itst.socialraccoon.api.exceptions.InvalidCredentialsException;
+import itst.socialraccoon.api.filters.AccessTokenFilter;
+import itst.socialraccoon.api.models.AuthenticationModel;
+import itst.socialraccoon.api.services.AccessTokenService;
+import itst.socialraccoon.api.services.AuthenticationCacheService;
+import itst.socialraccoon.api.services.AuthenticationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.POST})
+@Tag(name = "Authentication", description = "Provides methods to obtain and renew access tokens.")
+@GlobalApiResponses
+public class AuthenticationController {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    @Autowired
+    private AuthenticationCacheService authenticationCache;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Operation(summary = "Sign in and obtain an access token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Access token issued"),
+            @ApiResponse(responseCode = "401", description = "Invalid email or password")
+    })
+    @PostMapping("/signin")
+    public ResponseEntity<AccessTokenDTO> signIn(@Valid @RequestBody SignInDTO signIn) {
+        AuthenticationModel authentication = authenticationService.findByEmail(signIn.getEmail());
+        if (authentication == null || !passwordEncoder.matches(signIn.getPassword(), authentication.getPassword())) {
+            throw new InvalidCredentialsException("Correo o contraseña incorrectos");
+        }
+        String token = accessTokenService.issue(authentication.getEmail());
+        return ResponseEntity.ok(new AccessTokenDTO(token, accessTokenService.getTimeToLiveSeconds()));
+    }
+
+    @Operation(summary = "Exchange the current access token for a new one and revoke the current one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Access token renewed"),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid or revoked access token")
+    })
+    @PostMapping("/authentications/token/refresh")
+    public ResponseEntity<AccessTokenDTO> refresh(HttpServletRequest request) {
+        String token = accessTokenService.rotate(AccessTokenFilter.resolveToken(request));
+        if (token == null) {
+            throw new InvalidCredentialsException("El token de acceso no es válido");
+        }
+        return ResponseEntity.ok(new AccessTokenDTO(token, accessTokenService.getTimeToLiveSeconds()));
+    }
+
+    @Operation(summary = "Get hit and miss statistics of the authentication caches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache statistics retrieved")
+    })
+    @GetMapping("/authentications/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(authenticationCache.getStats());
+    }
+}
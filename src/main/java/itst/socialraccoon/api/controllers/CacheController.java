@@ -0,0 +1,36 @@
+package itst.socialraccoon.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import itst.socialraccoon.api.annotations.GlobalApiResponses;
+import itst.socialraccoon.api.services.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@Profile("statistics")
+@RequestMapping("cache")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET})
+@Tag(name = "Cache", description = "Provides statistics of the entity cache")
+@GlobalApiResponses
+public class CacheController {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get hit and miss statistics of the entity and query cache regions")
+    @ApiResponse(responseCode = "200", description = "Cache statistics retrieved")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getStats());
+    }
+}
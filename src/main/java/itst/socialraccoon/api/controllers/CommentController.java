@@ -5,14 +5,20 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import itst.socialraccoon.api.annotations.RateLimited;
+import itst.socialraccoon.api.annotations.RateLimited.Category;
 import itst.socialraccoon.api.services.CommentService;
 import itst.socialraccoon.api.dtos.CommentDTO;
+import itst.socialraccoon.api.dtos.CommentPreviewDTO;
+import itst.socialraccoon.api.dtos.CursorPageDTO;
 import itst.socialraccoon.api.models.CommentModel;
 import itst.socialraccoon.api.models.PostModel;
 import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.projections.CommentPreviewProjection;
 import itst.socialraccoon.api.services.PostService;
 import itst.socialraccoon.api.services.UserService;
-import jakarta.persistence.EntityNotFoundException;
+import itst.socialraccoon.api.utils.KeysetCursor;
+import itst.socialraccoon.api.validators.handlers.TextValidationHandler;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,7 +26,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 @RestController
@@ -29,6 +38,10 @@ import java.util.NoSuchElementException;
 @Tag(name = "Comments", description = "Provides methods to manage comments")
 public class CommentController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_POSTS = 100;
+    private static final int MAX_LATEST_COMMENTS = 10;
+
     @Autowired
     private CommentService commentService;
     @Autowired
@@ -37,7 +50,10 @@ public class CommentController {
     private PostService postService;
     @Autowired
     private ModelMapper modelMapper;
+    @Autowired
+    private TextValidationHandler textValidator;
 
+    @RateLimited(Category.COMMENT)
     @PostMapping("/post/{postId}")
     @Operation(
             summary = "Create a comment for a post",
@@ -88,14 +104,12 @@ public class CommentController {
         if (comment.getUser() == null) {
             throw new IllegalArgumentException("User must not be null");
         }
+        textValidator.validateText(comment.getComment());
 
         UserModel user = userService.findById(comment.getUser().getIdUser());
         PostModel post = postService.findById(postId);
 
-        if (user == null || post == null) {
-            throw new EntityNotFoundException("User or Post not found");
-        }
-
+        comment.setUser(user);
         comment.setPost(post);
         CommentModel createdComment = commentService.save(comment);
         return new ResponseEntity<>(convertToDto(createdComment), HttpStatus.CREATED);
@@ -141,6 +155,51 @@ public class CommentController {
         return new ResponseEntity<>(comments.stream().map(this::convertToDto).toList(), HttpStatus.OK);
     }
 
+    @GetMapping("/posts/latest")
+    @Operation(summary = "Get the latest comments of several posts", description = "Get the newest comments of each given post with their author names in a single query, e.g. to preview comments under a feed page")
+    public ResponseEntity<Map<Integer, List<CommentPreviewDTO>>> findLatestByPostIds(
+            @RequestParam("postIds") List<Integer> postIds,
+            @RequestParam(value = "limit", defaultValue = "2", required = false) int limit) {
+        if (postIds.isEmpty() || postIds.size() > MAX_BATCH_POSTS) {
+            throw new IllegalArgumentException("postIds must contain between 1 and " + MAX_BATCH_POSTS + " ids");
+        }
+        if (limit < 1 || limit > MAX_LATEST_COMMENTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LATEST_COMMENTS);
+        }
+        Map<Integer, List<CommentPreviewDTO>> result = new LinkedHashMap<>();
+        commentService.getLatestCommentsByPostIds(new LinkedHashSet<>(postIds), limit).forEach((postId, comments) ->
+                result.put(postId, comments.stream().map(this::convertToPreviewDto).toList()));
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/post/{postId}", params = "!page")
+    @Operation(summary = "Get comments by post id with a cursor", description = "Get the comments of a post newest first. Pass the returned nextCursor to get the following page")
+    public ResponseEntity<CursorPageDTO<CommentDTO>> findByPostIdWithCursor(
+            @PathVariable Integer postId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "10", required = false) int limit) {
+        int pageSize = checkLimit(limit);
+        List<CommentModel> comments = commentService.getCommentsByPostId(postId, KeysetCursor.decode(cursor), pageSize + 1);
+        if (comments.isEmpty() && cursor == null) {
+            throw new NoSuchElementException("No comments found for the given criteria.");
+        }
+        return new ResponseEntity<>(toCursorPage(comments, pageSize), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "!page")
+    @Operation(summary = "Get comments by user id with a cursor", description = "Get the comments of a user newest first. Pass the returned nextCursor to get the following page")
+    public ResponseEntity<CursorPageDTO<CommentDTO>> findByUserIdWithCursor(
+            @PathVariable Integer userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "10", required = false) int limit) {
+        int pageSize = checkLimit(limit);
+        List<CommentModel> comments = commentService.getCommentsByUserId(userId, KeysetCursor.decode(cursor), pageSize + 1);
+        if (comments.isEmpty() && cursor == null) {
+            throw new NoSuchElementException("No comments found for the given user.");
+        }
+        return new ResponseEntity<>(toCursorPage(comments, pageSize), HttpStatus.OK);
+    }
+
     @PutMapping("/{commentId}")
     @Operation(
             summary = "Update comment",
@@ -185,6 +244,7 @@ public class CommentController {
     public ResponseEntity<CommentDTO> update(
             @PathVariable Integer commentId,
             @org.springframework.web.bind.annotation.RequestBody CommentModel comment) {
+        textValidator.validateText(comment.getComment());
         CommentModel commentToUpdate = commentService.findById(commentId);
         commentToUpdate.setComment(comment.getComment());
         commentToUpdate.setDate(comment.getDate());
@@ -195,4 +255,33 @@ public class CommentController {
     public CommentDTO convertToDto(CommentModel comment) {
         return modelMapper.map(comment, CommentDTO.class);
     }
+
+    private CommentPreviewDTO convertToPreviewDto(CommentPreviewProjection comment) {
+        CommentPreviewDTO dto = new CommentPreviewDTO();
+        dto.setIdComment(comment.getIdComment());
+        dto.setIdUser(comment.getIdUser());
+        dto.setAuthorName(comment.getAuthorName());
+        dto.setAuthorLastName(comment.getAuthorLastName());
+        dto.setComment(comment.getComment());
+        dto.setDate(comment.getDate());
+        return dto;
+    }
+
+    private int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    // One extra row is fetched to know whether another page exists without a count query
+    private CursorPageDTO<CommentDTO> toCursorPage(List<CommentModel> comments, int pageSize) {
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            CommentModel last = comments.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getDate(), last.getIdComment()).encode();
+        }
+        return new CursorPageDTO<>(comments.stream().map(this::convertToDto).toList(), nextCursor);
+    }
 }
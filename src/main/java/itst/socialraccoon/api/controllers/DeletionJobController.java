@@ -0,0 +1,48 @@
+package itst.socialraccoon.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import itst.socialraccoon.api.annotations.GlobalApiResponses;
+import itst.socialraccoon.api.models.DeletionJobModel;
+import itst.socialraccoon.api.services.DeletionJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("deletions")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET})
+@Tag(name = "Deletions", description = "Provides the progress of the background purge of deleted users and posts")
+@GlobalApiResponses
+public class DeletionJobController {
+
+    @Autowired
+    private DeletionJobService deletionJobService;
+
+    @GetMapping("/posts/{postId}")
+    @Operation(summary = "Get how far the purge of a deleted post got")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion progress retrieved"),
+            @ApiResponse(responseCode = "404", description = "The post was not deleted")
+    })
+    public ResponseEntity<DeletionJobModel> getPostDeletion(@PathVariable Integer postId) {
+        return ResponseEntity.ok(deletionJobService.getJob(DeletionJobModel.Type.POST, postId));
+    }
+
+    @GetMapping("/users/{userId}")
+    @Operation(summary = "Get how far the purge of a deleted user got")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion progress retrieved"),
+            @ApiResponse(responseCode = "404", description = "The user was not deleted")
+    })
+    public ResponseEntity<DeletionJobModel> getUserDeletion(@PathVariable Integer userId) {
+        return ResponseEntity.ok(deletionJobService.getJob(DeletionJobModel.Type.USER, userId));
+    }
+}
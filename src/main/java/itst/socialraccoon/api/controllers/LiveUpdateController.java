@@ -0,0 +1,51 @@
+package itst.socialraccoon.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import itst.socialraccoon.api.annotations.GlobalApiResponses;
+import itst.socialraccoon.api.services.LiveUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("live")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET})
+@Tag(name = "Live updates", description = "Provides a Server-Sent Events stream that replaces polling the feed and reaction counts")
+@GlobalApiResponses
+public class LiveUpdateController {
+
+    private static final int MAX_WATCHED_POSTS = 100;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @GetMapping(value = "/user/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Open a live update stream",
+            description = "Sends an 'update' event, at most once per second by default, with the ids of new posts by users the user follows and the change of the reaction count of each post in postIds. Reload the feed after reconnecting or when resync is true")
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @ApiResponse(responseCode = "429", description = "Too many open streams")
+    public SseEmitter stream(
+            @PathVariable Integer userId,
+            @RequestParam(value = "postIds", required = false) List<Integer> postIds) {
+        List<Integer> watchedPosts = postIds == null ? List.of() : postIds;
+        if (watchedPosts.size() > MAX_WATCHED_POSTS) {
+            throw new IllegalArgumentException("postIds must not contain more than " + MAX_WATCHED_POSTS + " ids");
+        }
+        // An empty item such as postIds=1,,2 is bound as null
+        if (postIds != null && postIds.contains(null)) {
+            throw new IllegalArgumentException("postIds must only contain post ids");
+        }
+        return liveUpdateService.subscribe(userId, watchedPosts);
+    }
+}
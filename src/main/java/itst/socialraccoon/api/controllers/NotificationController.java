@@ -0,0 +1,94 @@
+package itst.socialraccoon.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import itst.socialraccoon.api.annotations.GlobalApiResponses;
+import itst.socialraccoon.api.dtos.CursorPageDTO;
+import itst.socialraccoon.api.dtos.NotificationDTO;
+import itst.socialraccoon.api.models.NotificationModel;
+import itst.socialraccoon.api.services.NotificationService;
+import itst.socialraccoon.api.utils.KeysetCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("notifications")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.PUT})
+@Tag(name = "Notifications", description = "Provides methods to read the reactions and comments on the posts of a user")
+@GlobalApiResponses
+public class NotificationController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Get the notifications of a user",
+            description = "Retrieves the notifications of a user, most recent activity first. Pass the returned nextCursor to get the following page")
+    @ApiResponse(responseCode = "200", description = "Notifications recovered")
+    public ResponseEntity<CursorPageDTO<NotificationDTO>> getNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20", required = false) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<NotificationModel> notifications = notificationService.getNotificationsByUserId(userId, KeysetCursor.decode(cursor), limit + 1);
+        String nextCursor = null;
+        if (notifications.size() > limit) {
+            notifications = notifications.subList(0, limit);
+            NotificationModel last = notifications.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getUpdatedDate(), last.getIdNotification()).encode();
+        }
+        return ResponseEntity.ok(new CursorPageDTO<>(notifications.stream().map(this::convertToDto).toList(), nextCursor));
+    }
+
+    @GetMapping("/user/{userId}/unread/count")
+    @Operation(summary = "Get the number of unread notifications of a user")
+    @ApiResponse(responseCode = "200", description = "Unread count recovered")
+    public ResponseEntity<Integer> getUnreadCount(@PathVariable Integer userId) {
+        return ResponseEntity.ok(notificationService.getUnreadCount(userId));
+    }
+
+    @PutMapping("/user/{userId}/read")
+    @Operation(summary = "Mark every notification of a user as read",
+            description = "Later reactions and comments start new notifications instead of being added to the read ones")
+    @ApiResponse(responseCode = "200", description = "Notifications marked as read")
+    public ResponseEntity<Integer> markAllAsRead(@PathVariable Integer userId) {
+        return ResponseEntity.ok(notificationService.markAllAsRead(userId));
+    }
+
+    private NotificationDTO convertToDto(NotificationModel notification) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setIdNotification(notification.getIdNotification());
+        dto.setIdPost(notification.getIdPost());
+        dto.setType(notification.getType().name());
+        dto.setActorCount(notification.getActorCount());
+        dto.setMessage(messageOf(notification));
+        dto.setRead(notification.getSeen());
+        dto.setDate(notification.getUpdatedDate());
+        return dto;
+    }
+
+    private static String messageOf(NotificationModel notification) {
+        int others = notification.getActorCount() - 1;
+        boolean reaction = notification.getType() == NotificationModel.Type.REACTION;
+        if (others < 1) {
+            return notification.getLastActorName() + (reaction ? " reaccionó a tu publicación" : " comentó tu publicación");
+        }
+        String actors = notification.getLastActorName() + " y " + others + (others == 1 ? " persona más" : " personas más");
+        return actors + (reaction ? " reaccionaron a tu publicación" : " comentaron tu publicación");
+    }
+}
@@ -3,20 +3,33 @@ package itst.socialraccoon.api.controllers;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import itst.socialraccoon.api.annotations.GlobalApiResponses;
+import itst.socialraccoon.api.annotations.RateLimited;
+import itst.socialraccoon.api.annotations.RateLimited.Category;
+import itst.socialraccoon.api.dtos.CommentDTO;
 import itst.socialraccoon.api.dtos.PostDTO;
 import itst.socialraccoon.api.dtos.PostRequestDTO;
+import itst.socialraccoon.api.dtos.PostViewsDTO;
+import itst.socialraccoon.api.dtos.ReactionDTO;
+import itst.socialraccoon.api.dtos.TrendingTagDTO;
 import itst.socialraccoon.api.models.ImagePostModel;
 import itst.socialraccoon.api.models.PostDescriptionModel;
 import itst.socialraccoon.api.models.PostModel;
 import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.projections.CommentPreviewProjection;
+import itst.socialraccoon.api.repositories.projections.ReactionSummaryProjection;
+import itst.socialraccoon.api.services.BatchLoaderService;
+import itst.socialraccoon.api.services.HashtagTrendService;
 import itst.socialraccoon.api.services.PostService;
 import itst.socialraccoon.api.services.UserService;
+import itst.socialraccoon.api.utils.BatchLoader;
+import itst.socialraccoon.api.utils.RequestIdentity;
 import itst.socialraccoon.api.validators.handlers.ImageValidationHandler;
+import itst.socialraccoon.api.validators.handlers.TextValidationHandler;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.modelmapper.ModelMapper;
@@ -59,6 +72,10 @@ public class PostController {
     private UserService userService;
     @Autowired
     private ImageValidationHandler validator;
+    @Autowired
+    private TextValidationHandler textValidator;
+    @Autowired
+    private BatchLoaderService batchLoaderService;
 
     @GetMapping("/{userId}")
     @Operation(summary = "Get posts by user ID with pagination",
@@ -77,13 +94,10 @@ public class PostController {
             @PathVariable Integer userId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        List<PostModel> posts = postService.findByUser(userId, page, size);
-        if (posts.isEmpty()) {
+        List<PostDTO> postDTOs = withActivity(postService.findByUser(userId, page, size, this::convertToCard));
+        if (postDTOs.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        List<PostDTO> postDTOs = posts.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
         return ResponseEntity.ok(postDTOs);
     }
 
@@ -95,9 +109,41 @@ public class PostController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<PostModel> postPage = postService.getFeed(pageable);
-        Page<PostDTO> postDTOPage = postPage.map(this::convertToDTO);
-        return ResponseEntity.ok(postDTOPage);
+        return ResponseEntity.ok(withActivity(postService.getFeed(pageable, this::convertToCard)));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending posts",
+            description = "Retrieves a paginated list of the posts with the most recent reactions and comments. Older activity counts for less as time passes")
+    @ApiResponse(responseCode = "200", description = "Trending posts recovered")
+    public ResponseEntity<Page<PostDTO>> getTrendingFeed(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(withActivity(postService.getTrendingFeed(page, size, this::convertToCard)));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search posts",
+            description = "Retrieves a paginated list of posts whose description or comments contain every word of the query, newest first. The last word also matches as a prefix")
+    @ApiResponse(responseCode = "200", description = "Search results recovered")
+    public ResponseEntity<Page<PostDTO>> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(withActivity(postService.search(query, page, size, this::convertToCard)));
+    }
+
+    @GetMapping("/trending/tags")
+    @Operation(summary = "Get trending hashtags",
+            description = "Retrieves the hashtags used by the most posts in the last hour (1h), day (24h) or week (7d). Counts are approximate and kept in memory")
+    @ApiResponse(responseCode = "200", description = "Trending hashtags recovered")
+    public ResponseEntity<List<TrendingTagDTO>> getTrendingTags(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TrendingTagDTO> tags = postService.getTrendingTags(HashtagTrendService.Window.fromLabel(window), limit).stream()
+                .map(entry -> new TrendingTagDTO(entry.getKey(), entry.getValue()))
+                .toList();
+        return ResponseEntity.ok(tags);
     }
 
     @GetMapping("/feed/{userId}")
@@ -109,11 +155,21 @@ public class PostController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<PostModel> postPage = postService.getFollowingFeed(userId, pageable);
-        Page<PostDTO> postDTOPage = postPage.map(this::convertToDTO);
-        return ResponseEntity.ok(postDTOPage);
+        return ResponseEntity.ok(withActivity(postService.getFollowingFeed(userId, pageable, this::convertToCard)));
+    }
+
+    @GetMapping("/feed/career/{acronym}")
+    @Operation(summary = "Get posts feed by career",
+            description = "Retrieves a paginated feed of the most recent posts made by users of the career with the specified acronym, sorted by descending creation date")
+    @ApiResponse(responseCode = "200", description = "Feed successfully recovered")
+    public ResponseEntity<Page<PostDTO>> getCareerFeed(
+            @PathVariable String acronym,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(withActivity(postService.getCareerFeed(acronym, page, size, this::convertToCard)));
     }
 
+    @RateLimited(Category.IMAGE_UPLOAD)
     @PostMapping(value = "/withImage/{userId}", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
     @Operation(
             summary = "Create a post with an image",
@@ -123,6 +179,7 @@ public class PostController {
             @RequestParam(value = "postDescription", required = false) String postDescription,
             @PathVariable Integer userId,
             @RequestParam("image") MultipartFile image) {
+        textValidator.validateText(postDescription);
         validator.validateImage(image);
         PostRequestDTO postRequestDTO = new PostRequestDTO();
         postRequestDTO.setPostDescription(Objects.requireNonNullElse(postDescription, ""));
@@ -140,6 +197,7 @@ public class PostController {
     public ResponseEntity<PostDTO> createPost(
             @RequestParam(value = "postDescription") String postDescription,
             @PathVariable Integer userId) {
+        textValidator.validateText(postDescription);
         PostRequestDTO postRequestDTO = new PostRequestDTO();
         postRequestDTO.setPostDescription(postDescription);
         postRequestDTO.setIdUser(userId);
@@ -148,6 +206,25 @@ public class PostController {
         return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(savedPost));
     }
 
+    @PostMapping("/{postId}/views")
+    @Operation(summary = "Record a post view",
+            description = "Records that the current user, or the client address when anonymous, viewed the post. Repeated views by the same viewer are counted once")
+    @ApiResponse(responseCode = "204", description = "View recorded")
+    @ApiResponse(responseCode = "404", description = "Post not found")
+    public ResponseEntity<Void> recordView(@PathVariable Integer postId, HttpServletRequest request) {
+        postService.recordView(postId, RequestIdentity.resolve(request));
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{postId}/views")
+    @Operation(summary = "Get unique viewers of a post",
+            description = "Retrieves the approximate number of different users that viewed the post")
+    @ApiResponse(responseCode = "200", description = "Viewers recovered")
+    @ApiResponse(responseCode = "404", description = "Post not found")
+    public ResponseEntity<PostViewsDTO> getViews(@PathVariable Integer postId) {
+        return ResponseEntity.ok(new PostViewsDTO(postId, postService.getUniqueViewers(postId)));
+    }
+
     @DeleteMapping("/{postId}")
     @Operation(summary = "Delete a post by user ID and post ID",
             description = "Deletes a post if it belongs to the specified user ID")
@@ -171,6 +248,7 @@ public class PostController {
         return ResponseEntity.ok("Image deleted successfully");
     }
 
+    @RateLimited(Category.IMAGE_UPLOAD)
     @PostMapping(value = "/images/{postId}", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
     @Operation(summary = "Add an image to a post",
             description = "Add an image to a post if it belongs to the specified user ID")
@@ -198,6 +276,7 @@ public class PostController {
         return ResponseEntity.ok(images);
     }
 
+    @RateLimited(Category.IMAGE_UPLOAD)
     @PutMapping(value = "/images/{postId}", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
     @Operation(summary = "Update an image from a post",
             description = "Update an image from a post if it belongs to the specified user ID")
@@ -218,8 +297,8 @@ public class PostController {
     @ApiResponse(responseCode = "200", description = "Post updated successfully")
     @ApiResponse(responseCode = "404", description = "Post not found")
     public ResponseEntity<PostDTO> update(@PathVariable Integer postId, @NotBlank @RequestParam("postDescription") String postDescription) {
-        PostModel updatedPost = postService.update(postId, postDescription);
-        return ResponseEntity.ok(convertToDTO(updatedPost));
+        textValidator.validateText(postDescription);
+        return ResponseEntity.ok(postService.update(postId, postDescription, this::convertToDTO));
     }
 
     private PostDTO convertToDTO(PostModel post) {
@@ -227,6 +306,50 @@ public class PostController {
         return dto;
     }
 
+    /**
+     * Maps the post itself, author and description included, and queues its id so the comments, reactions and
+     * images of the whole page are loaded at once, before the service's transaction ends.
+     */
+    private PostDTO convertToCard(PostModel post) {
+        PostDTO dto = new PostDTO();
+        dto.setPost(post.getIdPost());
+        dto.setDateCreated(String.valueOf(post.getDateCreated()));
+        UserModel user = post.getUser();
+        dto.setIdUser(user.getIdUser());
+        dto.setUserName(user.getName());
+        dto.setUserLastName(user.getLastName());
+        dto.setUserSecondLastName(user.getSecondLastName());
+        dto.setUserControlNumber(user.getControlNumber());
+        if (post.getIdPostDescription() != null) {
+            dto.setPostDescription(post.getIdPostDescription().getDescription());
+        }
+        batchLoaderService.commentsByPost().load(post.getIdPost());
+        batchLoaderService.reactionsByPost().load(post.getIdPost());
+        batchLoaderService.imagesByPost().load(post.getIdPost());
+        return dto;
+    }
+
+    /**
+     * Fills the cards from the batch loaders, which the service already loaded inside its transaction.
+     */
+    private <C extends Iterable<PostDTO>> C withActivity(C cards) {
+        BatchLoader<Integer, List<CommentPreviewProjection>> comments = batchLoaderService.commentsByPost();
+        BatchLoader<Integer, List<ReactionSummaryProjection>> reactions = batchLoaderService.reactionsByPost();
+        BatchLoader<Integer, List<ImagePostModel>> images = batchLoaderService.imagesByPost();
+        for (PostDTO card : cards) {
+            card.setComments(comments.get(card.getPost()).stream()
+                    .map(comment -> new CommentDTO(comment.getIdComment(), comment.getIdUser(), comment.getIdPost(),
+                            comment.getComment(), comment.getDate()))
+                    .toList());
+            card.setReactions(reactions.get(card.getPost()).stream()
+                    .map(reaction -> new ReactionDTO(reaction.getIdUser(), reaction.getUserName(), reaction.getIdPost(),
+                            reaction.getDate(), reaction.getIdReactionType(), reaction.getReactionName(), reaction.getReactionIcon()))
+                    .toList());
+            card.setImages(images.get(card.getPost()));
+        }
+        return cards;
+    }
+
     private PostModel convertPostRequestToEntity(PostRequestDTO postRequestDTO) {
         PostModel postModel = modelMapper.map(postRequestDTO, PostModel.class);
         UserModel user = userService.findById(postRequestDTO.getIdUser());
@@ -3,12 +3,16 @@ package itst.socialraccoon.api.controllers;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 import itst.socialraccoon.api.annotations.GlobalApiResponses;
+import itst.socialraccoon.api.annotations.RateLimited;
+import itst.socialraccoon.api.annotations.RateLimited.Category;
 import itst.socialraccoon.api.dtos.ReactionDTO;
 import itst.socialraccoon.api.models.ReactionModel;
+import itst.socialraccoon.api.models.ReactionTypeModel;
+import itst.socialraccoon.api.services.BatchLoaderService;
 import itst.socialraccoon.api.services.ReactionService;
+import itst.socialraccoon.api.utils.BatchLoader;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -33,6 +37,9 @@ public class ReactionController {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private BatchLoaderService batchLoaderService;
+
     @Operation(summary = "Get all reactions by post id paginated")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found reactions"),
@@ -43,13 +50,13 @@ public class ReactionController {
             @PathVariable Integer postId,
             @RequestParam(value = "page", defaultValue = "0", required = false) int page,
             @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize) {
-        List<ReactionModel> reactions = reactionService.getReactionsByPostId(postId, page, pageSize);
+        List<ReactionDTO> reactions = reactionService.getReactionsByPostId(postId, page, pageSize, this::convertToListDTO);
         if (reactions.isEmpty()) {
             throw new NoSuchElementException();
         }
-        return reactions.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        BatchLoader<Integer, String> userNames = batchLoaderService.userNames();
+        reactions.forEach(reaction -> reaction.setUserName(userNames.get(reaction.getIdUser())));
+        return reactions;
     }
 
     @Operation(summary = "Get reaction count by post id")
@@ -75,13 +82,14 @@ public class ReactionController {
             @ApiResponse(responseCode = "200", description = "Reaction updated"),
             @ApiResponse(responseCode = "404", description = "Post or user not found")
     })
+    @RateLimited(Category.REACTION)
     @PostMapping("/{postId}")
     public ResponseEntity<ReactionDTO> reactOrUpdate(
             @PathVariable Integer postId,
             @RequestParam Integer userId,
             @RequestParam Integer reactionTypeId) {
-        ReactionModel reaction = reactionService.reactOrUpdate(postId, userId, reactionTypeId);
-        return new ResponseEntity<>(convertToDTO(reaction), HttpStatus.OK);
+        ReactionDTO reaction = reactionService.reactOrUpdate(postId, userId, reactionTypeId, this::convertToDTO);
+        return new ResponseEntity<>(reaction, HttpStatus.OK);
     }
 
     @Operation(summary = "Delete a user's reaction to a post.")
@@ -104,4 +112,23 @@ public class ReactionController {
     private ReactionDTO convertToDTO(ReactionModel reaction) {
         return modelMapper.map(reaction, ReactionDTO.class);
     }
+
+    /**
+     * Maps everything but the author's name, which is loaded for the whole page at once. The reaction type and
+     * its icon come from the second-level cache.
+     */
+    private ReactionDTO convertToListDTO(ReactionModel reaction) {
+        ReactionTypeModel reactionType = reaction.getIdReactionType();
+        ReactionDTO dto = new ReactionDTO();
+        dto.setIdUser(reaction.getIdUser().getIdUser());
+        dto.setIdPost(reaction.getIdPost().getIdPost());
+        dto.setDate(reaction.getDate());
+        dto.setIdReactionType(reactionType.getIdReactionType());
+        dto.setReactionName(reactionType.getName());
+        if (reactionType.getReactionIcon() != null) {
+            dto.setReactionIcon(reactionType.getReactionIcon().getIconUrl());
+        }
+        batchLoaderService.userNames().load(dto.getIdUser());
+        return dto;
+    }
 }
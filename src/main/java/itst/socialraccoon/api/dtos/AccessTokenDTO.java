@@ -0,0 +1,47 @@
+package itst.socialraccoon.api.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public class AccessTokenDTO {
+
+    @Schema(description = "Signed access token to send as 'Authorization: Bearer <token>'")
+    private String accessToken;
+
+    @Schema(description = "Type of the token", example = "Bearer")
+    private String tokenType = "Bearer";
+
+    @Schema(description = "Seconds until the token expires", example = "3600")
+    private long expiresIn;
+
+    public AccessTokenDTO() {
+    }
+
+    public AccessTokenDTO(String accessToken, long expiresIn) {
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
@@ -0,0 +1,78 @@
+package itst.socialraccoon.api.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+public class CommentPreviewDTO {
+    @Schema(description = "Unique identifier of the comment", example = "1")
+    private Integer idComment;
+
+    @Schema(description = "Unique identifier of the author", example = "1")
+    private Integer idUser;
+
+    @Schema(description = "Name of the author", example = "Juan")
+    private String authorName;
+
+    @Schema(description = "Last name of the author", example = "Perez")
+    private String authorLastName;
+
+    @Schema(description = "Content of the comment", example = "This is a comment")
+    private String comment;
+
+    @Schema(description = "Date when the comment was made", example = "2021-10-10 10:00:00")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime date;
+
+    public CommentPreviewDTO() {
+    }
+
+    public Integer getIdComment() {
+        return idComment;
+    }
+
+    public void setIdComment(Integer idComment) {
+        this.idComment = idComment;
+    }
+
+    public Integer getIdUser() {
+        return idUser;
+    }
+
+    public void setIdUser(Integer idUser) {
+        this.idUser = idUser;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public String getAuthorLastName() {
+        return authorLastName;
+    }
+
+    public void setAuthorLastName(String authorLastName) {
+        this.authorLastName = authorLastName;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+}
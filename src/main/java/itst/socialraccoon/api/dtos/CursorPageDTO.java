@@ -0,0 +1,38 @@
+package itst.socialraccoon.api.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+
+    @Schema(description = "Items of the page")
+    private List<T> items;
+
+    @Schema(description = "Cursor to request the next page, null when there are no more items", example = "MTcyODU1NDQwMDo0Mg")
+    private String nextCursor;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
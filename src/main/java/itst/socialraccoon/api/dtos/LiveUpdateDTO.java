@@ -0,0 +1,51 @@
+package itst.socialraccoon.api.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+public class LiveUpdateDTO {
+
+    @Schema(description = "Ids of the posts created by followed users since the previous update, newest last", example = "[41, 42]")
+    private List<Integer> newPostIds;
+
+    @Schema(description = "Change of the reaction count of each subscribed post since the previous update", example = "{\"7\": 3}")
+    private Map<Integer, Integer> reactionDeltas;
+
+    @Schema(description = "True when updates were dropped because the client fell behind; the client should reload the feed", example = "false")
+    private boolean resync;
+
+    public LiveUpdateDTO() {
+    }
+
+    public LiveUpdateDTO(List<Integer> newPostIds, Map<Integer, Integer> reactionDeltas, boolean resync) {
+        this.newPostIds = newPostIds;
+        this.reactionDeltas = reactionDeltas;
+        this.resync = resync;
+    }
+
+    public List<Integer> getNewPostIds() {
+        return newPostIds;
+    }
+
+    public void setNewPostIds(List<Integer> newPostIds) {
+        this.newPostIds = newPostIds;
+    }
+
+    public Map<Integer, Integer> getReactionDeltas() {
+        return reactionDeltas;
+    }
+
+    public void setReactionDeltas(Map<Integer, Integer> reactionDeltas) {
+        this.reactionDeltas = reactionDeltas;
+    }
+
+    public boolean isResync() {
+        return resync;
+    }
+
+    public void setResync(boolean resync) {
+        this.resync = resync;
+    }
+}
@@ -0,0 +1,88 @@
+package itst.socialraccoon.api.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+public class NotificationDTO {
+
+    @Schema(description = "Unique identifier of the notification", example = "1")
+    private Integer idNotification;
+
+    @Schema(description = "Identifier of the post the activity happened on", example = "1")
+    private Integer idPost;
+
+    @Schema(description = "What the users did: REACTION or COMMENT", example = "REACTION")
+    private String type;
+
+    @Schema(description = "Number of users grouped in the notification", example = "15")
+    private Integer actorCount;
+
+    @Schema(description = "Text to show to the user", example = "Ana López y 14 personas más reaccionaron a tu publicación")
+    private String message;
+
+    @Schema(description = "Whether the user already read the notification", example = "false")
+    private Boolean read;
+
+    @Schema(description = "Date of the last activity grouped in the notification", example = "2021-10-10 10:00:00")
+    private LocalDateTime date;
+
+    public NotificationDTO() {
+    }
+
+    public Integer getIdNotification() {
+        return idNotification;
+    }
+
+    public void setIdNotification(Integer idNotification) {
+        this.idNotification = idNotification;
+    }
+
+    public Integer getIdPost() {
+        return idPost;
+    }
+
+    public void setIdPost(Integer idPost) {
+        this.idPost = idPost;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getActorCount() {
+        return actorCount;
+    }
+
+    public void setActorCount(Integer actorCount) {
+        this.actorCount = actorCount;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Boolean getRead() {
+        return read;
+    }
+
+    public void setRead(Boolean read) {
+        this.read = read;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+}
@@ -0,0 +1,36 @@
+package itst.socialraccoon.api.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public class PostViewsDTO {
+
+    @Schema(description = "Identifier of the post", example = "1")
+    private Integer idPost;
+
+    @Schema(description = "Approximate number of different users that viewed the post", example = "128")
+    private long uniqueViewers;
+
+    public PostViewsDTO() {
+    }
+
+    public PostViewsDTO(Integer idPost, long uniqueViewers) {
+        this.idPost = idPost;
+        this.uniqueViewers = uniqueViewers;
+    }
+
+    public Integer getIdPost() {
+        return idPost;
+    }
+
+    public void setIdPost(Integer idPost) {
+        this.idPost = idPost;
+    }
+
+    public long getUniqueViewers() {
+        return uniqueViewers;
+    }
+
+    public void setUniqueViewers(long uniqueViewers) {
+        this.uniqueViewers = uniqueViewers;
+    }
+}
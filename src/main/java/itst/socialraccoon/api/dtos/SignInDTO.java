@@ -0,0 +1,34 @@
+package itst.socialraccoon.api.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class SignInDTO {
+
+    @Schema(description = "Email of the user", example = "L21TE0284@teziutlan.tecnm.mx")
+    @NotBlank(message = "email must not be null and must not be empty")
+    @Size(max = 60, message = "The email must be at most 60 characters long")
+    private String email;
+
+    @Schema(description = "Password of the user", example = "s3cureP@ssw0rd")
+    @NotBlank(message = "password must not be null and must not be empty")
+    @Size(max = 60, message = "The password must be at most 60 characters long")
+    private String password;
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
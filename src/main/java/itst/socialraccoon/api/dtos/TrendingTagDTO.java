@@ -0,0 +1,36 @@
+package itst.socialraccoon.api.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public class TrendingTagDTO {
+
+    @Schema(description = "Hashtag without the '#', lower-cased and without accents", example = "becas")
+    private String tag;
+
+    @Schema(description = "Approximate number of posts that used the tag in the window", example = "42")
+    private int count;
+
+    public TrendingTagDTO() {
+    }
+
+    public TrendingTagDTO(String tag, int count) {
+        this.tag = tag;
+        this.count = count;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
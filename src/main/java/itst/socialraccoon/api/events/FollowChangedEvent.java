@@ -0,0 +1,8 @@
+package itst.socialraccoon.api.events;
+
+/**
+ * Published by {@code RelationshipService} when {@code followerId} starts ({@code following = true}) or stops
+ * following {@code userId}; listeners run after the transaction commits.
+ */
+public record FollowChangedEvent(Integer userId, Integer followerId, boolean following) {
+}
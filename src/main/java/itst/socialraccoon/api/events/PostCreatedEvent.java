@@ -0,0 +1,7 @@
+package itst.socialraccoon.api.events;
+
+/**
+ * Published by {@code PostService} when a post is created; listeners run after the transaction commits.
+ */
+public record PostCreatedEvent(Integer postId, Integer authorId) {
+}
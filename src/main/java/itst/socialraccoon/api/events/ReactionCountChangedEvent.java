@@ -0,0 +1,8 @@
+package itst.socialraccoon.api.events;
+
+/**
+ * Published by {@code ReactionService} when a reaction is added to ({@code delta = 1}) or removed from
+ * ({@code delta = -1}) a post.
+ */
+public record ReactionCountChangedEvent(Integer postId, int delta) {
+}
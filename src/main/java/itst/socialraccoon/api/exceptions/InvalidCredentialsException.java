@@ -0,0 +1,7 @@
+package itst.socialraccoon.api.exceptions;
+
+public class InvalidCredentialsException extends RuntimeException {
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package itst.socialraccoon.api.interceptors;
+
+import itst.socialraccoon.api.annotations.RateLimited;
+import itst.socialraccoon.api.exceptions.RateLimitExceededException;
+import itst.socialraccoon.api.services.RateLimiterService;
+import itst.socialraccoon.api.utils.RequestIdentity;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private RateLimiterService rateLimiterService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+        long retryAfter = rateLimiterService.tryAcquire(RequestIdentity.resolve(request), rateLimited.value());
+        if (retryAfter > 0) {
+            throw new RateLimitExceededException(
+                    "Demasiadas solicitudes, intenta de nuevo en " + retryAfter + " segundos", retryAfter);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package itst.socialraccoon.api.interceptors;
+
+import itst.socialraccoon.api.configuration.ReadWriteRoutingDataSource;
+import itst.socialraccoon.api.utils.ExpiringCache;
+import itst.socialraccoon.api.utils.RequestIdentity;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Keeps the requests of a user on the primary database for {@code datasource.read-your-writes.window} after
+ * they changed something, so replica lag never hides their own post, comment or reaction. Asynchronous requests
+ * such as the live updates stream release the servlet thread without reaching afterCompletion on it, so the
+ * pin is also cleared in afterConcurrentHandlingStarted.
+ */
+@Component
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final ExpiringCache<String, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(
+            @Value("${datasource.read-your-writes.window:PT5S}") Duration window,
+            @Value("${datasource.read-your-writes.max-sessions:10000}") int maxSessions) {
+        this.recentWriters = new ExpiringCache<>(maxSessions, window);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (recentWriters.get(RequestIdentity.resolve(request)) != null) {
+            ReadWriteRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadWriteRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadWriteRoutingDataSource.unpin();
+        if (ex == null && response.getStatus() < 400 && isWrite(request.getMethod())) {
+            recentWriters.put(RequestIdentity.resolve(request), Boolean.TRUE);
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method);
+    }
+}
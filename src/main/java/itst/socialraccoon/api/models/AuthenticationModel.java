@@ -8,13 +8,19 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity(name = "authentication")
 @Schema(description = "Model representing an authentication")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authentication")
 public class AuthenticationModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "authentication_id")
+    @TableGenerator(name = "authentication_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.NAME_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "authentication", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Schema(description = "Unique identifier of the authentication", example = "1")
     private Integer idAuthentication;
 
@@ -0,0 +1,61 @@
+package itst.socialraccoon.api.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "blocked_image_hash")
+@Schema(description = "Perceptual hash of an image rejected by content moderation")
+public class BlockedImageHashModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "idBlockedImageHash", nullable = false)
+    @Schema(description = "Unique identifier of the blocked hash", example = "1")
+    private Integer idBlockedImageHash;
+
+    @Column(name = "hash", nullable = false, unique = true)
+    @Schema(description = "64-bit difference hash of the image", example = "-8070450532247928832")
+    private Long hash;
+
+    @Column(name = "createdDate", nullable = false, columnDefinition = "datetime")
+    @Schema(description = "Date when the image was blocked", example = "2021-10-10 10:00:00")
+    private LocalDateTime createdDate = LocalDateTime.now().withNano(0);
+
+    public BlockedImageHashModel() {
+    }
+
+    public BlockedImageHashModel(Long hash) {
+        this.hash = hash;
+    }
+
+    public Integer getIdBlockedImageHash() {
+        return idBlockedImageHash;
+    }
+
+    public void setIdBlockedImageHash(Integer idBlockedImageHash) {
+        this.idBlockedImageHash = idBlockedImageHash;
+    }
+
+    public Long getHash() {
+        return hash;
+    }
+
+    public void setHash(Long hash) {
+        this.hash = hash;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+}
@@ -6,13 +6,18 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Cacheable;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "career")
 @Schema(description = "Model representing a career")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "career")
 public class CareerModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,7 +21,9 @@ public class CommentModel {
 
     @Schema(description = "Unique identifier of the comment", example = "1")
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_id")
+    @TableGenerator(name = "comment_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.NAME_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "comment", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Integer idComment;
 
     @NotNull(message = "The user must not be null")
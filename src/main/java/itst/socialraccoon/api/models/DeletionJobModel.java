@@ -0,0 +1,163 @@
+package itst.socialraccoon.api.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "deletion_job")
+@Schema(description = "Background purge of a deleted user or post and how far it got")
+public class DeletionJobModel {
+
+    public enum Type {
+        USER(Step.HIDE_POSTS, Step.POSTS, Step.REACTIONS, Step.COMMENTS, Step.FOLLOWERS, Step.FOLLOWING,
+                Step.NOTIFICATIONS, Step.PROFILE_IMAGES, Step.PROFILE, Step.TARGET),
+        POST(Step.REACTIONS, Step.COMMENTS, Step.IMAGES, Step.DESCRIPTION, Step.NOTIFICATIONS, Step.TARGET);
+
+        private final List<Step> steps;
+
+        Type(Step... steps) {
+            this.steps = List.of(steps);
+        }
+
+        /**
+         * The steps of the purge in the order they run, children before the rows they reference.
+         */
+        public List<Step> getSteps() {
+            return steps;
+        }
+    }
+
+    public enum Step {
+        HIDE_POSTS,
+        POSTS,
+        REACTIONS,
+        COMMENTS,
+        IMAGES,
+        DESCRIPTION,
+        FOLLOWERS,
+        FOLLOWING,
+        NOTIFICATIONS,
+        PROFILE_IMAGES,
+        PROFILE,
+        TARGET
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "idDeletionJob", nullable = false)
+    @Schema(description = "Unique identifier of the job", example = "1")
+    private Integer idDeletionJob;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, columnDefinition = "varchar(8)")
+    @Schema(description = "Kind of row being deleted", example = "USER")
+    private Type type;
+
+    @Column(name = "idTarget", nullable = false)
+    @Schema(description = "Identifier of the user or post being deleted", example = "1")
+    private Integer idTarget;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "step", nullable = false, columnDefinition = "varchar(16)")
+    @Schema(description = "Step the purge is at; an interrupted job starts again from it", example = "COMMENTS")
+    private Step step;
+
+    @Column(name = "deletedRows", nullable = false)
+    @Schema(description = "Rows deleted so far", example = "1500")
+    private Long deletedRows = 0L;
+
+    @Column(name = "createdDate", nullable = false, columnDefinition = "datetime")
+    @Schema(description = "Date when the deletion was requested", example = "2021-10-10 10:00:00")
+    private LocalDateTime createdDate = LocalDateTime.now().withNano(0);
+
+    @Column(name = "updatedDate", nullable = false, columnDefinition = "datetime")
+    @Schema(description = "Date of the last chunk", example = "2021-10-10 10:00:05")
+    private LocalDateTime updatedDate = createdDate;
+
+    @Column(name = "finishedDate", columnDefinition = "datetime")
+    @Schema(description = "Date when every row was purged, or null while the job is pending", example = "2021-10-10 10:00:10")
+    private LocalDateTime finishedDate;
+
+    public DeletionJobModel() {
+    }
+
+    public DeletionJobModel(Type type, Integer idTarget) {
+        this.type = type;
+        this.idTarget = idTarget;
+        this.step = type.getSteps().get(0);
+    }
+
+    public Integer getIdDeletionJob() {
+        return idDeletionJob;
+    }
+
+    public void setIdDeletionJob(Integer idDeletionJob) {
+        this.idDeletionJob = idDeletionJob;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Integer getIdTarget() {
+        return idTarget;
+    }
+
+    public void setIdTarget(Integer idTarget) {
+        this.idTarget = idTarget;
+    }
+
+    public Step getStep() {
+        return step;
+    }
+
+    public void setStep(Step step) {
+        this.step = step;
+    }
+
+    public Long getDeletedRows() {
+        return deletedRows;
+    }
+
+    public void setDeletedRows(Long deletedRows) {
+        this.deletedRows = deletedRows;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+
+    public LocalDateTime getFinishedDate() {
+        return finishedDate;
+    }
+
+    public void setFinishedDate(LocalDateTime finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+}
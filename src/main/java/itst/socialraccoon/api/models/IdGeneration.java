@@ -0,0 +1,17 @@
+package itst.socialraccoon.api.models;
+
+/**
+ * Settings shared by the table generators of the entities that are inserted often. Ids are reserved from the
+ * id_generator table in blocks of {@link #ALLOCATION_SIZE}, unlike IDENTITY columns, which need a round trip
+ * per row to learn the id and so keep Hibernate from batching inserts.
+ */
+final class IdGeneration {
+
+    static final String TABLE = "id_generator";
+    static final String NAME_COLUMN = "sequence_name";
+    static final String VALUE_COLUMN = "next_val";
+    static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -21,7 +22,9 @@ import jakarta.validation.constraints.Size;
 @Schema(description = "Model representing an image post")
 public class ImagePostModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "image_post_id")
+    @TableGenerator(name = "image_post_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.NAME_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "image_post", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "idImagePost", nullable = false)
     @Schema(description = "Unique identifier of the image post", example = "1")
     private Integer idImagePost;
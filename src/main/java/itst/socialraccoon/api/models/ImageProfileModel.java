@@ -17,12 +17,14 @@ public class ImageProfileModel {
 
     @Schema(description = "Unique identifier of the image profile", example = "1")
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "image_profile_id")
+    @TableGenerator(name = "image_profile_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.NAME_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "image_profile", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "idImageProfile")
     @JsonProperty("idImageProfile")
     private Integer idImageProfile;
 
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idProfile", nullable = false)
     @JsonProperty("idProfile")
     @Schema(description = "Profile to which the image belongs", example = "1")
@@ -0,0 +1,139 @@
+package itst.socialraccoon.api.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification")
+@Schema(description = "Notification about activity on a post, grouping every user that did the same thing")
+public class NotificationModel {
+
+    public enum Type {
+        REACTION,
+        COMMENT
+    }
+
+    // Rows are only inserted by the upsert in NotificationActivityRepository, which lets MySQL assign the id
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "idNotification", nullable = false)
+    @Schema(description = "Unique identifier of the notification", example = "1")
+    private Integer idNotification;
+
+    @Column(name = "idUser", nullable = false)
+    @Schema(description = "Identifier of the user that receives the notification", example = "1")
+    private Integer idUser;
+
+    @Column(name = "idPost", nullable = false)
+    @Schema(description = "Identifier of the post the activity happened on", example = "1")
+    private Integer idPost;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, columnDefinition = "varchar(16)")
+    @Schema(description = "What the users did", example = "REACTION")
+    private Type type;
+
+    @Column(name = "idLastActor", nullable = false)
+    @Schema(description = "Identifier of the last user that did it", example = "2")
+    private Integer idLastActor;
+
+    @Column(name = "lastActorName", nullable = false, length = 120)
+    @Schema(description = "Name of the last user that did it", example = "Ana López")
+    private String lastActorName;
+
+    @Column(name = "actorCount", nullable = false)
+    @Schema(description = "Number of users grouped in the notification", example = "15")
+    private Integer actorCount;
+
+    @Column(name = "seen", nullable = false)
+    @Schema(description = "Whether the user already read the notification", example = "false")
+    private Boolean seen = false;
+
+    @Column(name = "updatedDate", nullable = false, columnDefinition = "datetime")
+    @Schema(description = "Date of the last activity grouped in the notification", example = "2021-10-10 10:00:00")
+    private LocalDateTime updatedDate;
+
+    public NotificationModel() {
+    }
+
+    public Integer getIdNotification() {
+        return idNotification;
+    }
+
+    public void setIdNotification(Integer idNotification) {
+        this.idNotification = idNotification;
+    }
+
+    public Integer getIdUser() {
+        return idUser;
+    }
+
+    public void setIdUser(Integer idUser) {
+        this.idUser = idUser;
+    }
+
+    public Integer getIdPost() {
+        return idPost;
+    }
+
+    public void setIdPost(Integer idPost) {
+        this.idPost = idPost;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Integer getIdLastActor() {
+        return idLastActor;
+    }
+
+    public void setIdLastActor(Integer idLastActor) {
+        this.idLastActor = idLastActor;
+    }
+
+    public String getLastActorName() {
+        return lastActorName;
+    }
+
+    public void setLastActorName(String lastActorName) {
+        this.lastActorName = lastActorName;
+    }
+
+    public Integer getActorCount() {
+        return actorCount;
+    }
+
+    public void setActorCount(Integer actorCount) {
+        this.actorCount = actorCount;
+    }
+
+    public Boolean getSeen() {
+        return seen;
+    }
+
+    public void setSeen(Boolean seen) {
+        this.seen = seen;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+}
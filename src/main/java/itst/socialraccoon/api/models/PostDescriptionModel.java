@@ -12,7 +12,9 @@ import jakarta.validation.constraints.Size;
 @Schema(description = "Model representing a post description")
 public class PostDescriptionModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_description_id")
+    @TableGenerator(name = "post_description_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.NAME_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "post_description", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "idPostDescription", nullable = false)
     @Schema(description = "Unique identifier of the post description", example = "1")
     private Integer idPostDescription;
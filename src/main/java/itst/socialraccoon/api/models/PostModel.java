@@ -14,10 +14,22 @@ import java.util.List;
 
 @Entity
 @Table(name = "post")
+@NamedEntityGraph(name = PostModel.SUMMARY_GRAPH, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("idPostDescription")
+})
 @Schema(description = "Model representing a post")
 public class PostModel {
+
+    /**
+     * What a feed card shows besides the collections, which are loaded in batches.
+     */
+    public static final String SUMMARY_GRAPH = "PostModel.summary";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_id")
+    @TableGenerator(name = "post_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.NAME_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "post", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "idPost")
     @Schema(description = "Unique identifier of the post", example = "1")
     private Integer idPost;
@@ -29,13 +41,13 @@ public class PostModel {
     private LocalDateTime dateCreated;
 
     @NotNull(message = "El usuario no puede ser nulo")
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idUser")
     @JsonBackReference(value = "user-post")
     @Schema(description = "User to which the post belongs")
     private UserModel user;
 
-    @OneToOne(mappedBy = "idPost", cascade = CascadeType.ALL, orphanRemoval = true, optional = true)
+    @OneToOne(mappedBy = "idPost", cascade = CascadeType.ALL, orphanRemoval = true, optional = true, fetch = FetchType.LAZY)
     @JsonManagedReference(value = "post-description")
     @Schema(description = "Description of the post")
     private PostDescriptionModel idPostDescription;
@@ -55,6 +67,11 @@ public class PostModel {
     @Schema(description = "Images uploaded to the post")
     private List<ImagePostModel> images = new ArrayList<>();
 
+    @Column(name = "deletedDate", columnDefinition = "datetime")
+    @Schema(description = "Date when the deletion of the post was requested; its rows are purged in the background")
+    @JsonIgnore
+    private LocalDateTime deletedDate;
+
     public PostModel(Integer idPost, UserModel user, LocalDateTime dateCreated) {
         this.idPost = idPost;
         this.user = user;
@@ -121,6 +138,14 @@ public class PostModel {
         this.images = images;
     }
 
+    public LocalDateTime getDeletedDate() {
+        return deletedDate;
+    }
+
+    public void setDeletedDate(LocalDateTime deletedDate) {
+        this.deletedDate = deletedDate;
+    }
+
     @Override
     public String toString() {
         return "PostModel{" +
@@ -0,0 +1,59 @@
+package itst.socialraccoon.api.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "post_view_sketch")
+@Schema(description = "HyperLogLog sketch of the users that viewed a post")
+public class PostViewSketchModel {
+    @Id
+    @Column(name = "idPost", nullable = false)
+    @Schema(description = "Identifier of the viewed post", example = "1")
+    private Integer idPost;
+
+    @Column(name = "sketch", nullable = false, columnDefinition = "varbinary(4097)")
+    @Schema(description = "Serialized sketch, at most 4 KB")
+    private byte[] sketch;
+
+    @Column(name = "updatedDate", nullable = false, columnDefinition = "datetime")
+    @Schema(description = "Date when the sketch was last saved", example = "2021-10-10 10:00:00")
+    private LocalDateTime updatedDate = LocalDateTime.now().withNano(0);
+
+    public PostViewSketchModel() {
+    }
+
+    public PostViewSketchModel(Integer idPost, byte[] sketch) {
+        this.idPost = idPost;
+        this.sketch = sketch;
+    }
+
+    public Integer getIdPost() {
+        return idPost;
+    }
+
+    public void setIdPost(Integer idPost) {
+        this.idPost = idPost;
+    }
+
+    public byte[] getSketch() {
+        return sketch;
+    }
+
+    public void setSketch(byte[] sketch) {
+        this.sketch = sketch;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -13,9 +15,13 @@ import java.util.Set;
 @Entity
 @Table(name = "profile")
 @Schema(description = "Model representing a profile")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profile")
 public class ProfileModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "profile_id")
+    @TableGenerator(name = "profile_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.NAME_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "profile", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "idProfile", nullable = false)
     @Schema(description = "Unique identifier of the profile", example = "1")
     private Integer idProfile;
@@ -26,7 +32,7 @@ public class ProfileModel {
     private String description = "";
 
     @NotNull(message = "El usuario no puede ser nulo")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idUser", referencedColumnName = "idUser", nullable = false)
     @JsonBackReference(value = "user-profile")
     @Schema(description = "User to which the profile belongs")
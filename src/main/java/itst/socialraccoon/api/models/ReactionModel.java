@@ -45,7 +45,7 @@ public class ReactionModel {
     private PostModel idPost;  // Post identifier field
 
     @Id
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idUser", nullable = false)
     @NotNull(message = "The user ID must not be null")
     @Schema(description = "Unique identifier of the user", example = "1")
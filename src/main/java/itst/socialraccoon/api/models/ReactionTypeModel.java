@@ -5,10 +5,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "reaction_type")
 @Schema(description = "Model representing a reaction type")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reaction_type")
 public class ReactionTypeModel {
 
     @Schema(description = "Unique identifier of the reaction type", example = "1")
@@ -18,7 +22,7 @@ public class ReactionTypeModel {
     @JsonProperty("idReactionType")
     private Integer idReactionType;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "idReactionIcon")
     @JsonProperty("reactionIcon")
     @Schema(description = "Icon of the reaction", example = "1")
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -17,7 +18,9 @@ import java.util.List;
 public class UserModel {
     @Id
     @Column(name = "idUser", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.NAME_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "user", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Schema(description = "Unique identifier of the user", example = "1")
     @JsonProperty("idUser")
     private Integer idUser;
@@ -49,13 +52,13 @@ public class UserModel {
 
     @NotNull(message = "The profile must not be null")
     @JsonManagedReference(value = "user-profile")
-    @OneToOne(mappedBy = "idUser", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(mappedBy = "idUser", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Schema(description = "Profile of the user", example = "1")
     @JsonProperty("profile")
     private ProfileModel profile;
 
     @NotNull(message = "The authentication must not be null")
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "idAuthentication", referencedColumnName = "idAuthentication", nullable = false)
     @Schema(description = "Authentication data of the user")
     @JsonProperty("authentication")
@@ -97,6 +100,11 @@ public class UserModel {
     @JsonProperty("career")
     private CareerModel career;
 
+    @Column(name = "deletedDate", columnDefinition = "datetime")
+    @Schema(description = "Date when the deletion of the user was requested; its rows are purged in the background")
+    @JsonIgnore
+    private LocalDateTime deletedDate;
+
     public UserModel() {
 
     }
@@ -211,4 +219,12 @@ public class UserModel {
     public void setCareer(CareerModel career) {
         this.career = career;
     }
+
+    public LocalDateTime getDeletedDate() {
+        return deletedDate;
+    }
+
+    public void setDeletedDate(LocalDateTime deletedDate) {
+        this.deletedDate = deletedDate;
+    }
 }
\ No newline at end of file
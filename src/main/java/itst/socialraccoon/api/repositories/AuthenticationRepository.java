@@ -1,10 +1,22 @@
 package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.AuthenticationModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface AuthenticationRepository extends JpaRepository<AuthenticationModel, Integer> {
-    @Query( value = "SELECT * FROM authentication a WHERE a.email = :email", nativeQuery = true)
+    // Accounts of deleted users can no longer sign in, even before the background purge removes them
+    @Query( value = "SELECT * FROM authentication a WHERE a.email = :email AND NOT EXISTS " +
+            "(SELECT 1 FROM user u WHERE u.idAuthentication = a.idAuthentication AND u.deletedDate IS NOT NULL)", nativeQuery = true)
     AuthenticationModel findByEmail(String email);
+
+    @Modifying
+    @Query(value = "DELETE FROM authentication WHERE idAuthentication = :authenticationId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "authentication"))
+    int deleteAuthentication(@Param("authenticationId") Integer authenticationId);
 }
@@ -0,0 +1,26 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.BlockedImageHashModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BlockedImageHashRepository extends JpaRepository<BlockedImageHashModel, Integer> {
+    @Query(value = "SELECT hash FROM blocked_image_hash", nativeQuery = true)
+    List<Long> findAllHashes();
+
+    // A hash blocked concurrently by another request is already there, which is all the caller needs
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO blocked_image_hash (hash, createdDate) VALUES (:hash, :date)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "blocked_image_hash"))
+    int insertIfMissing(@Param("hash") long hash, @Param("date") LocalDateTime date);
+}
@@ -1,13 +1,17 @@
 package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.CareerModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface CareerRepository extends JpaRepository<CareerModel, Integer> {
 
-    //career name
-    @Query(value = "SELECT * FROM career WHERE acronym = :acronym", nativeQuery = true)
+    //career name, cached until a career changes
+    @Query("SELECT c FROM CareerModel c WHERE c.acronym = :acronym")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     CareerModel getByAcronym(@Param("acronym") String acronym);
 }
@@ -1,24 +1,100 @@
 package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.CommentModel;
-import org.springframework.data.domain.Page;
+import itst.socialraccoon.api.repositories.projections.CommentPreviewProjection;
+import itst.socialraccoon.api.repositories.projections.IndexedTextProjection;
+import itst.socialraccoon.api.repositories.projections.PostActivityProjection;
+import itst.socialraccoon.api.repositories.projections.PurgedActivityProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<CommentModel, Integer> {
 
-    @Query(value = "SELECT * FROM comment WHERE idPost = :postId", nativeQuery = true)
-    Page<CommentModel> getCommentsByPostId(@Param("postId") Integer postId, Pageable pageable);
+    @Query(value = "SELECT * FROM comment WHERE idPost = :postId ORDER BY date DESC, idComment DESC", nativeQuery = true)
+    List<CommentModel> getCommentsByPostId(@Param("postId") Integer postId, Pageable pageable);
 
-    @Query(value = "SELECT * FROM comment WHERE idUser = :userId", nativeQuery = true)
-    Page<CommentModel> getCommentsByUserId(@Param("userId") Integer userId, Pageable pageable);
+    @Query(value = "SELECT * FROM comment WHERE idUser = :userId ORDER BY date DESC, idComment DESC", nativeQuery = true)
+    List<CommentModel> getCommentsByUserId(@Param("userId") Integer userId, Pageable pageable);
 
-    @Query(value = "SELECT * FROM comment WHERE idPost = :postId AND idUser = :userId", nativeQuery = true)
-    Page<CommentModel> getCommentsByPostIdAndUserId(@Param("postId") Integer postId, @Param("userId") Integer userId, Pageable pageable);
+    @Query(value = "SELECT * FROM comment WHERE idPost = :postId AND idUser = :userId ORDER BY date DESC, idComment DESC", nativeQuery = true)
+    List<CommentModel> getCommentsByPostIdAndUserId(@Param("postId") Integer postId, @Param("userId") Integer userId, Pageable pageable);
 
     @Query(value = "SELECT * FROM comment WHERE idPost = :postId AND idUser = :userId AND idComment = :commentId", nativeQuery = true)
     CommentModel getComment(@Param("postId") Integer postId, @Param("userId") Integer userId, @Param("commentId") Integer commentId);
 
-}
\ No newline at end of file
+    // Keyset pages walk idx_comment_post_date / idx_comment_user_date, newest first
+
+    @Query(value = "SELECT * FROM comment WHERE idPost = :postId " +
+            "ORDER BY date DESC, idComment DESC LIMIT :limit", nativeQuery = true)
+    List<CommentModel> getFirstCommentsByPostId(@Param("postId") Integer postId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM comment WHERE idPost = :postId " +
+            "AND (date < :date OR (date = :date AND idComment < :commentId)) " +
+            "ORDER BY date DESC, idComment DESC LIMIT :limit", nativeQuery = true)
+    List<CommentModel> getCommentsByPostIdBefore(@Param("postId") Integer postId, @Param("date") LocalDateTime date,
+                                                 @Param("commentId") Integer commentId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM comment WHERE idUser = :userId " +
+            "ORDER BY date DESC, idComment DESC LIMIT :limit", nativeQuery = true)
+    List<CommentModel> getFirstCommentsByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM comment WHERE idUser = :userId " +
+            "AND (date < :date OR (date = :date AND idComment < :commentId)) " +
+            "ORDER BY date DESC, idComment DESC LIMIT :limit", nativeQuery = true)
+    List<CommentModel> getCommentsByUserIdBefore(@Param("userId") Integer userId, @Param("date") LocalDateTime date,
+                                                 @Param("commentId") Integer commentId, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.idComment AS idComment, c.idPost AS idPost, c.idUser AS idUser, c.comment AS comment, " +
+            "c.date AS date, u.name AS authorName, u.lastName AS authorLastName " +
+            "FROM (SELECT idComment, idPost, idUser, comment, date, " +
+            "ROW_NUMBER() OVER (PARTITION BY idPost ORDER BY date DESC, idComment DESC) AS rowNumber " +
+            "FROM comment WHERE idPost IN (:postIds)) c " +
+            "JOIN user u ON u.idUser = c.idUser " +
+            "WHERE c.rowNumber <= :limit " +
+            "ORDER BY c.idPost, c.rowNumber", nativeQuery = true)
+    List<CommentPreviewProjection> getLatestCommentsByPostIds(@Param("postIds") Collection<Integer> postIds, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.idComment AS idComment, c.idPost AS idPost, c.idUser AS idUser, c.comment AS comment, " +
+            "c.date AS date, u.name AS authorName, u.lastName AS authorLastName " +
+            "FROM comment c JOIN user u ON u.idUser = c.idUser " +
+            "WHERE c.idPost IN (:postIds) " +
+            "ORDER BY c.idPost, c.date, c.idComment", nativeQuery = true)
+    List<CommentPreviewProjection> getCommentsByPostIds(@Param("postIds") Collection<Integer> postIds);
+
+    @Query(value = "SELECT c.idComment AS id, c.idPost AS idPost, c.comment AS text FROM comment c " +
+            "JOIN post p ON p.idPost = c.idPost AND p.deletedDate IS NULL " +
+            "WHERE c.idComment > :afterId ORDER BY c.idComment LIMIT :limit", nativeQuery = true)
+    List<IndexedTextProjection> getCommentTextsAfter(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.idPost AS idPost, TIMESTAMPDIFF(HOUR, '2000-01-01', c.date) AS hour, COUNT(*) AS total " +
+            "FROM comment c JOIN post p ON p.idPost = c.idPost AND p.deletedDate IS NULL " +
+            "WHERE c.date >= :since GROUP BY c.idPost, hour", nativeQuery = true)
+    List<PostActivityProjection> getHourlyCommentCountsSince(@Param("since") LocalDateTime since);
+
+    // Chunks of the background purge of deleted posts and users (see DeletionJobService)
+
+    @Modifying
+    @Query(value = "DELETE FROM comment WHERE idPost = :postId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment"))
+    int deleteChunkByPostId(@Param("postId") Integer postId, @Param("limit") int limit);
+
+    @Query(value = "SELECT idComment AS idComment, idPost AS idPost, date AS date " +
+            "FROM comment WHERE idUser = :userId LIMIT :limit", nativeQuery = true)
+    List<PurgedActivityProjection> getChunkByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM comment WHERE idComment IN (:commentIds)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment"))
+    int deleteByIds(@Param("commentIds") Collection<Integer> commentIds);
+
+}
@@ -0,0 +1,33 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.DeletionJobModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DeletionJobRepository extends JpaRepository<DeletionJobModel, Integer> {
+
+    DeletionJobModel findByTypeAndIdTarget(DeletionJobModel.Type type, Integer idTarget);
+
+    @Query(value = "SELECT idDeletionJob FROM deletion_job WHERE finishedDate IS NULL ORDER BY idDeletionJob", nativeQuery = true)
+    List<Integer> getPendingJobIds();
+
+    @Modifying
+    @Query(value = "UPDATE deletion_job SET step = :step, deletedRows = deletedRows + :rows, updatedDate = :date " +
+            "WHERE idDeletionJob = :jobId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "deletion_job"))
+    int recordProgress(@Param("jobId") Integer jobId, @Param("step") String step, @Param("rows") int rows,
+                       @Param("date") LocalDateTime date);
+
+    @Modifying
+    @Query(value = "UPDATE deletion_job SET finishedDate = :date, updatedDate = :date WHERE idDeletionJob = :jobId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "deletion_job"))
+    int markFinished(@Param("jobId") Integer jobId, @Param("date") LocalDateTime date);
+}
@@ -1,12 +1,17 @@
 package itst.socialraccoon.api.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import itst.socialraccoon.api.models.ImagePostModel;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ImagePostRepository extends JpaRepository<ImagePostModel, Integer> {
@@ -16,21 +21,30 @@ public interface ImagePostRepository extends JpaRepository<ImagePostModel, Integ
     @Query(value = "SELECT * FROM image_post WHERE idPost = :postId \n-- #pageable\n", nativeQuery = true)
     List<ImagePostModel> getImagePostByPostId(@Param("postId") Integer postId, Pageable pageable);
 
-    @Query(value = "SELECT * FROM image_post WHERE idUser = :userId", nativeQuery = true)
-    List<ImagePostModel> getImagePostByUserId(@Param("userId") Integer userId);
-
-    @Query(value = "SELECT * FROM image_post WHERE idUser = :userId \n-- #pageable\n", nativeQuery = true)
-    List<ImagePostModel> getImagePostByUserId(@Param("userId") Integer userId, Pageable pageable);
-
-    @Query(value = "SELECT * FROM image_post WHERE idPost = :postId AND idUser = :userId", nativeQuery = true)
-    List<ImagePostModel> getImagePostByPostIdAndUserId(@Param("postId") Integer postId, @Param("userId") Integer userId);
-
-    @Query(value = "SELECT * FROM image_post WHERE idPost = :postId AND idUser = :userId \n-- #pageable\n", nativeQuery = true)
-    List<ImagePostModel> getImagePostByPostIdAndUserId(@Param("postId") Integer postId, @Param("userId") Integer userId, Pageable pageable);
+    @Query(value = "SELECT * FROM image_post WHERE idPost IN (:postIds) ORDER BY idPost, idImagePost", nativeQuery = true)
+    List<ImagePostModel> getImagePostsByPostIds(@Param("postIds") Collection<Integer> postIds);
 
     @Query(value = "SELECT * FROM image_post WHERE idPost = :postId AND idImagePost = :imagePostId", nativeQuery = true)
     ImagePostModel getImagePost(@Param("postId") Integer postId, @Param("imagePostId") Integer imagePostId);
 
+    boolean existsByIdImagePostAndIdPost_IdPost(Integer imagePostId, Integer postId);
+
+    // Single-row mutations keyed by the post as well, so an image can only be changed through the post it belongs to
+
+    @Modifying
     @Query(value = "DELETE FROM image_post WHERE idPost = :postId AND idImagePost = :imagePostId", nativeQuery = true)
-    void deleteImagePost(@Param("postId") Integer postId, @Param("imagePostId") Integer imagePostId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "image_post"))
+    int deleteImagePost(@Param("postId") Integer postId, @Param("imagePostId") Integer imagePostId);
+
+    @Modifying
+    @Query(value = "UPDATE image_post SET imageUrl = :imageUrl, imageThumbnailUrl = :imageThumbnailUrl " +
+            "WHERE idPost = :postId AND idImagePost = :imagePostId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "image_post"))
+    int updateImagePost(@Param("postId") Integer postId, @Param("imagePostId") Integer imagePostId,
+                        @Param("imageUrl") String imageUrl, @Param("imageThumbnailUrl") String imageThumbnailUrl);
+
+    @Modifying
+    @Query(value = "DELETE FROM image_post WHERE idPost = :postId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "image_post"))
+    int deleteChunkByPostId(@Param("postId") Integer postId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.ImageProfileModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -45,4 +49,10 @@ public interface ImageProfileRepository extends JpaRepository<ImageProfileModel,
 
     @Query(value = "DELETE FROM image_profile WHERE idProfile = :profileId AND idImageProfile = :imageProfileId", nativeQuery = true)
     void deleteImageProfile(@Param("profileId") Integer profileId, @Param("imageProfileId") Integer imageProfileId);
+
+    @Modifying
+    @Query(value = "DELETE FROM image_profile WHERE idProfile IN (SELECT idProfile FROM profile WHERE idUser = :userId) " +
+            "LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "image_profile"))
+    int deleteChunkByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
 }
@@ -0,0 +1,32 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.NotificationModel;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes buffered notification activity as batches of upserts, without reading the notifications first. The users
+ * counted in an unread notification are kept in notification_actor, so each of them counts once.
+ */
+public interface NotificationActivityRepository {
+
+    /**
+     * Adds the activity to the notification of each recipient, post and type, creating it when missing and
+     * marking it unread again when it was read. Activity on posts that are gone or marked as deleted is skipped.
+     */
+    @Transactional
+    void addActivity(List<Activity> activity);
+
+    /**
+     * Marks every notification of the user as read and forgets their actors, so new activity is counted from zero.
+     */
+    @Transactional
+    int markAllAsRead(Integer userId);
+
+    record Activity(Integer userId, Integer postId, NotificationModel.Type type, Collection<Integer> actorIds,
+                    Integer lastActorId, String lastActorName, LocalDateTime date) {
+    }
+}
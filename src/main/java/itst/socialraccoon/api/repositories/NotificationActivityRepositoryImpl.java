@@ -0,0 +1,77 @@
+package itst.socialraccoon.api.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+class NotificationActivityRepositoryImpl implements NotificationActivityRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    // One row per recipient, post and type; its actorCount is set by RECOUNT once the actors are stored
+    private static final String UPSERT = "INSERT INTO notification " +
+            "(idUser, idPost, type, idLastActor, lastActorName, actorCount, seen, updatedDate) " +
+            "SELECT ?, p.idPost, ?, ?, ?, 0, false, ? FROM post p WHERE p.idPost = ? AND p.deletedDate IS NULL " +
+            "ON DUPLICATE KEY UPDATE " +
+            "notification.seen = false, " +
+            "notification.idLastActor = ?, " +
+            "notification.lastActorName = ?, " +
+            "notification.updatedDate = ?";
+
+    // An actor that is already counted hits the primary key and is ignored
+    private static final String ADD_ACTOR = "INSERT IGNORE INTO notification_actor (idNotification, idUser) " +
+            "SELECT n.idNotification, ? FROM notification n WHERE n.idUser = ? AND n.idPost = ? AND n.type = ?";
+
+    private static final String RECOUNT = "UPDATE notification n " +
+            "SET n.actorCount = (SELECT COUNT(*) FROM notification_actor a WHERE a.idNotification = n.idNotification) " +
+            "WHERE n.idUser = ? AND n.idPost = ? AND n.type = ?";
+
+    private static final String MARK_READ = "UPDATE notification SET seen = true WHERE idUser = ? AND seen = false";
+
+    // Runs after MARK_READ, whose row locks keep a concurrent flush from adding actors in between
+    private static final String FORGET_ACTORS = "DELETE a FROM notification_actor a " +
+            "JOIN notification n ON n.idNotification = a.idNotification WHERE n.idUser = ? AND n.seen = true";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addActivity(List<Activity> activity) {
+        jdbcTemplate.batchUpdate(UPSERT, activity, BATCH_SIZE, (statement, row) -> {
+            Timestamp date = Timestamp.valueOf(row.date());
+            statement.setInt(1, row.userId());
+            statement.setString(2, row.type().name());
+            statement.setInt(3, row.lastActorId());
+            statement.setString(4, row.lastActorName());
+            statement.setTimestamp(5, date);
+            statement.setInt(6, row.postId());
+            statement.setInt(7, row.lastActorId());
+            statement.setString(8, row.lastActorName());
+            statement.setTimestamp(9, date);
+        });
+
+        List<Object[]> actors = new ArrayList<>();
+        for (Activity row : activity) {
+            for (Integer actorId : row.actorIds()) {
+                actors.add(new Object[]{actorId, row.userId(), row.postId(), row.type().name()});
+            }
+        }
+        jdbcTemplate.batchUpdate(ADD_ACTOR, actors);
+
+        jdbcTemplate.batchUpdate(RECOUNT, activity, BATCH_SIZE, (statement, row) -> {
+            statement.setInt(1, row.userId());
+            statement.setInt(2, row.postId());
+            statement.setString(3, row.type().name());
+        });
+    }
+
+    @Override
+    public int markAllAsRead(Integer userId) {
+        int marked = jdbcTemplate.update(MARK_READ, userId);
+        jdbcTemplate.update(FORGET_ACTORS, userId);
+        return marked;
+    }
+}
@@ -0,0 +1,60 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.NotificationModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<NotificationModel, Integer>, NotificationActivityRepository {
+
+    @Query(value = "SELECT * FROM notification WHERE idUser = :userId " +
+            "ORDER BY updatedDate DESC, idNotification DESC LIMIT :limit", nativeQuery = true)
+    List<NotificationModel> getFirstNotificationsByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM notification WHERE idUser = :userId " +
+            "AND (updatedDate < :date OR (updatedDate = :date AND idNotification < :notificationId)) " +
+            "ORDER BY updatedDate DESC, idNotification DESC LIMIT :limit", nativeQuery = true)
+    List<NotificationModel> getNotificationsByUserIdBefore(@Param("userId") Integer userId, @Param("date") LocalDateTime date,
+                                                           @Param("notificationId") Integer notificationId, @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM notification WHERE idUser = :userId AND seen = false", nativeQuery = true)
+    Integer getUnreadCountByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM notification WHERE idPost = :postId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification"))
+    int deleteChunkByPostId(@Param("postId") Integer postId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM notification WHERE idUser = :userId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification"))
+    int deleteChunkByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM notification WHERE idLastActor = :userId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification"))
+    int deleteChunkByLastActorId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT idNotification FROM notification_actor WHERE idUser = :userId LIMIT :limit", nativeQuery = true)
+    List<Integer> getNotificationIdsByActorId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM notification_actor WHERE idUser = :userId AND idNotification IN (:notificationIds)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_actor"))
+    int deleteActor(@Param("userId") Integer userId, @Param("notificationIds") Collection<Integer> notificationIds);
+
+    @Modifying
+    @Query(value = "UPDATE notification n " +
+            "SET n.actorCount = (SELECT COUNT(*) FROM notification_actor a WHERE a.idNotification = n.idNotification) " +
+            "WHERE n.idNotification IN (:notificationIds)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification"))
+    int recountActors(@Param("notificationIds") Collection<Integer> notificationIds);
+}
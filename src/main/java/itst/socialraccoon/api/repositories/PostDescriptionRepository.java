@@ -0,0 +1,27 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.PostDescriptionModel;
+import itst.socialraccoon.api.repositories.projections.IndexedTextProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PostDescriptionRepository extends JpaRepository<PostDescriptionModel, Integer> {
+
+    // Descriptions of visible posts only, so posts hidden but not yet purged stay out of the search index
+    @Query(value = "SELECT d.idPostDescription AS id, d.idPost AS idPost, d.description AS text FROM post_description d " +
+            "JOIN post p ON p.idPost = d.idPost AND p.deletedDate IS NULL " +
+            "WHERE d.idPostDescription > :afterId ORDER BY d.idPostDescription LIMIT :limit", nativeQuery = true)
+    List<IndexedTextProjection> getDescriptionsAfter(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_description WHERE idPost = :postId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_description"))
+    int deleteChunkByPostId(@Param("postId") Integer postId, @Param("limit") int limit);
+}
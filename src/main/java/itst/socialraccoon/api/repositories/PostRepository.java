@@ -2,35 +2,94 @@ package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.PostModel;
 import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.projections.PostTimelineProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface PostRepository extends JpaRepository<PostModel, Integer> {
-    @Query(value = "SELECT * FROM post WHERE idUser = :idUser", nativeQuery = true)
+    @Query(value = "SELECT * FROM post WHERE idUser = :idUser AND deletedDate IS NULL", nativeQuery = true)
     List<PostModel> findByUser(@Param("idUser") Integer idUser);
 
     @Modifying
     @Query(value = "DELETE FROM post WHERE idUser = :idUser AND idPost = :idPost", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post"))
     void deleteByUserAndPost(@Param("idUser") Integer idUser, @Param("idPost") Integer idPost);
 
-    @Query(value = "SELECT * FROM post WHERE idUser = :idUser AND idPost = :idPost", nativeQuery = true)
+    @Query(value = "SELECT * FROM post WHERE idUser = :idUser AND idPost = :idPost AND deletedDate IS NULL", nativeQuery = true)
     PostModel findByUserAndPost(@Param("idUser") Integer idUser, @Param("idPost") Integer idPost);
 
-    @Query(value = "SELECT * FROM post WHERE idUser = :idUser", nativeQuery = true)
-    Page<PostModel> findByUserAndPost(@Param("idUser") Integer idUser, Pageable pageable);
-
-    @Query
+    @Query("SELECT p FROM PostModel p WHERE p.deletedDate IS NULL ORDER BY p.dateCreated DESC")
+    @EntityGraph(PostModel.SUMMARY_GRAPH)
     Page<PostModel> findAllByOrderByDateCreatedDesc(Pageable pageable);
 
-    @Query("SELECT p FROM PostModel p WHERE p.user.idUser = :userId")
+    @Query("SELECT p FROM PostModel p WHERE p.user.idUser = :userId AND p.deletedDate IS NULL")
+    @EntityGraph(PostModel.SUMMARY_GRAPH)
     Page<PostModel> findByUser_IdUser(@Param("userId") Integer userId, Pageable pageable);
 
-    @Query(value = "SELECT p.* FROM post p JOIN relationship r ON p.idUser = r.idUser WHERE r.idFollower = :userId ORDER BY RAND()", nativeQuery = true)
+    @Query("SELECT p FROM PostModel p WHERE p.idPost IN :ids AND p.deletedDate IS NULL")
+    @EntityGraph(PostModel.SUMMARY_GRAPH)
+    List<PostModel> findAllByIdPostIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(value = "SELECT p.* FROM post p JOIN relationship r ON p.idUser = r.idUser WHERE r.idFollower = :userId AND p.deletedDate IS NULL ORDER BY RAND()", nativeQuery = true)
     Page<PostModel> findRandomPostsByFollowedUsers(@Param("userId") Integer userId, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT p.idPost AS idPost, p.dateCreated AS dateCreated FROM post p " +
+            "JOIN user u ON u.idUser = p.idUser WHERE u.idCareer = :idCareer AND p.deletedDate IS NULL " +
+            "ORDER BY p.dateCreated DESC, p.idPost DESC LIMIT :limit", nativeQuery = true)
+    List<PostTimelineProjection> getRecentPostsByCareer(@Param("idCareer") Integer idCareer, @Param("limit") int limit);
+
+    // Soft deletion and the background purge of deleted posts and users (see DeletionJobService)
+
+    @Modifying
+    @Query(value = "UPDATE post SET deletedDate = :date WHERE idPost = :postId AND deletedDate IS NULL", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post"))
+    int markDeleted(@Param("postId") Integer postId, @Param("date") LocalDateTime date);
+
+    @Query(value = "SELECT idPost FROM post WHERE idUser = :userId AND deletedDate IS NULL LIMIT :limit", nativeQuery = true)
+    List<Integer> getVisiblePostIds(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE post SET deletedDate = :date WHERE idPost IN (:postIds) AND deletedDate IS NULL", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post"))
+    int markDeleted(@Param("postIds") Collection<Integer> postIds, @Param("date") LocalDateTime date);
+
+    @Query(value = "SELECT idPost FROM post WHERE idUser = :userId ORDER BY idPost LIMIT 1", nativeQuery = true)
+    Integer getFirstPostId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM post WHERE idPost = :postId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post"))
+    int deletePost(@Param("postId") Integer postId);
+
+    /**
+     * Loads the posts with the given ids in the same order, skipping ids that no longer exist.
+     */
+    default List<PostModel> findAllByIdInOrder(List<Integer> ids) {
+        Map<Integer, PostModel> postsById = findAllByIdPostIn(ids).stream()
+                .collect(Collectors.toMap(PostModel::getIdPost, Function.identity()));
+        List<PostModel> posts = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            PostModel post = postsById.get(id);
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,7 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.PostViewSketchModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PostViewSketchRepository extends JpaRepository<PostViewSketchModel, Integer>, PostViewSketchUpsertRepository {
+}
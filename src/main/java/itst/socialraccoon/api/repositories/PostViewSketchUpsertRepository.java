@@ -0,0 +1,16 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.PostViewSketchModel;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Saves view sketches as one batch of upserts that skip posts marked as deleted, so a flush racing with the
+ * deletion of a post never brings its row back.
+ */
+public interface PostViewSketchUpsertRepository {
+
+    @Transactional
+    void saveVisible(List<PostViewSketchModel> sketches);
+}
@@ -0,0 +1,33 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.PostViewSketchModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+class PostViewSketchUpsertRepositoryImpl implements PostViewSketchUpsertRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    // Reading the post row waits for a deletion that is being committed, and then sees its deletedDate
+    private static final String UPSERT = "INSERT INTO post_view_sketch (idPost, sketch, updatedDate) " +
+            "SELECT p.idPost, ?, ? FROM post p WHERE p.idPost = ? AND p.deletedDate IS NULL " +
+            "ON DUPLICATE KEY UPDATE post_view_sketch.sketch = ?, post_view_sketch.updatedDate = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void saveVisible(List<PostViewSketchModel> sketches) {
+        jdbcTemplate.batchUpdate(UPSERT, sketches, BATCH_SIZE, (statement, sketch) -> {
+            Timestamp date = Timestamp.valueOf(sketch.getUpdatedDate());
+            statement.setBytes(1, sketch.getSketch());
+            statement.setTimestamp(2, date);
+            statement.setInt(3, sketch.getIdPost());
+            statement.setBytes(4, sketch.getSketch());
+            statement.setTimestamp(5, date);
+        });
+    }
+}
@@ -1,12 +1,22 @@
 package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.ProfileModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface ProfileRepository extends JpaRepository<ProfileModel, Integer> {
     // Find profile by user ID
     @Query(value = "SELECT * FROM profile WHERE idUser = :userId", nativeQuery = true)
     ProfileModel findByUserId(Integer userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM profile WHERE idUser = :userId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "profile"))
+    int deleteChunkByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
 }
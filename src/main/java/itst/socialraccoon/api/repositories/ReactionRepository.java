@@ -1,12 +1,22 @@
 package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.compositekeys.ReactionPK;
-import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.projections.PostActivityProjection;
+import itst.socialraccoon.api.repositories.projections.PurgedActivityProjection;
+import itst.socialraccoon.api.repositories.projections.ReactionSummaryProjection;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import itst.socialraccoon.api.models.ReactionModel;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -43,6 +53,44 @@ public interface ReactionRepository extends JpaRepository<ReactionModel, Reactio
     @Query(value = "SELECT COUNT(*) FROM reaction WHERE idPost = :post_id AND idReactionType = :reaction_type_id", nativeQuery = true)
     Integer getReactionCountByPostIdAndReactionType(@Param("post_id") int post_id, @Param("reaction_type_id") int reaction_type_id);
 
-    void deleteByIdUser(UserModel idUser);
+    @Query(value = "SELECT r.idPost AS idPost, r.idUser AS idUser, u.name AS userName, r.idReactionType AS idReactionType, " +
+            "t.name AS reactionName, i.iconUrl AS reactionIcon, r.createdDate AS date " +
+            "FROM reaction r " +
+            "JOIN user u ON u.idUser = r.idUser " +
+            "JOIN reaction_type t ON t.idReactionType = r.idReactionType " +
+            "LEFT JOIN reaction_icon i ON i.idReactionIcon = t.idReactionIcon " +
+            "WHERE r.idPost IN (:postIds) " +
+            "ORDER BY r.idPost, r.createdDate", nativeQuery = true)
+    List<ReactionSummaryProjection> getReactionSummariesByPostIds(@Param("postIds") Collection<Integer> postIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.date FROM ReactionModel r WHERE r.idPost.idPost = :post_id AND r.idUser.idUser = :user_id")
+    LocalDateTime getReactionDateForUpdate(@Param("post_id") int post_id, @Param("user_id") int user_id);
+
+    @Modifying
+    @Query(value = "DELETE FROM reaction WHERE idPost = :post_id AND idUser = :user_id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reaction"))
+    int deleteReaction(@Param("post_id") int post_id, @Param("user_id") int user_id);
+
+    @Query(value = "SELECT r.idPost AS idPost, TIMESTAMPDIFF(HOUR, '2000-01-01', r.createdDate) AS hour, COUNT(*) AS total " +
+            "FROM reaction r JOIN post p ON p.idPost = r.idPost AND p.deletedDate IS NULL " +
+            "WHERE r.createdDate >= :since GROUP BY r.idPost, hour", nativeQuery = true)
+    List<PostActivityProjection> getHourlyReactionCountsSince(@Param("since") LocalDateTime since);
+
+    // Chunks of the background purge of deleted posts and users (see DeletionJobService)
+
+    @Modifying
+    @Query(value = "DELETE FROM reaction WHERE idPost = :postId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reaction"))
+    int deleteChunkByPostId(@Param("postId") Integer postId, @Param("limit") int limit);
+
+    @Query(value = "SELECT NULL AS idComment, idPost AS idPost, createdDate AS date " +
+            "FROM reaction WHERE idUser = :userId LIMIT :limit", nativeQuery = true)
+    List<PurgedActivityProjection> getChunkByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM reaction WHERE idUser = :userId AND idPost IN (:postIds)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reaction"))
+    int deleteByUserIdAndPostIds(@Param("userId") Integer userId, @Param("postIds") Collection<Integer> postIds);
 
 }
@@ -2,9 +2,13 @@ package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.RelationshipModel;
 import itst.socialraccoon.api.models.compositekeys.RelationshipPK;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -31,4 +35,20 @@ public interface RelationshipRepository extends JpaRepository<RelationshipModel,
     //Get followers of the user paginated
     @Query(value = "SELECT * FROM relationship WHERE idUser = :userId", nativeQuery = true)
     List<RelationshipModel> getFollowingByUserIdPaginated(@Param("userId") Integer userId, Pageable pageable);
+
+    // Get the ids of the users the user follows
+    @Query(value = "SELECT idUser FROM relationship WHERE idFollower = :userId", nativeQuery = true)
+    List<Integer> getFollowedUserIds(@Param("userId") Integer userId);
+
+    // Chunks of the background purge of deleted users (see DeletionJobService)
+
+    @Modifying
+    @Query(value = "DELETE FROM relationship WHERE idUser = :userId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "relationship"))
+    int deleteFollowersChunk(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM relationship WHERE idFollower = :userId LIMIT :limit", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "relationship"))
+    int deleteFollowingChunk(@Param("userId") Integer userId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -1,13 +1,41 @@
 package itst.socialraccoon.api.repositories;
 
 import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.projections.UserNameProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<UserModel, Integer> {
 
     UserModel findByAuthentication_Email(String email);
 
+    @Query(value = "SELECT idUser AS idUser, name AS name FROM user WHERE idUser IN (:userIds)", nativeQuery = true)
+    List<UserNameProjection> getNamesByIds(@Param("userIds") Collection<Integer> userIds);
+
+    // Soft deletion and the background purge of deleted users (see DeletionJobService)
+
+    @Modifying
+    @Query(value = "UPDATE user SET deletedDate = :date WHERE idUser = :userId AND deletedDate IS NULL", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user"))
+    int markDeleted(@Param("userId") Integer userId, @Param("date") LocalDateTime date);
+
+    @Query(value = "SELECT idAuthentication FROM user WHERE idUser = :userId", nativeQuery = true)
+    Integer getAuthenticationId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user WHERE idUser = :userId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user"))
+    int deleteUser(@Param("userId") Integer userId);
+
 }
@@ -0,0 +1,22 @@
+package itst.socialraccoon.api.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the comments-per-post queries: the comment plus its author's name.
+ */
+public interface CommentPreviewProjection {
+    Integer getIdComment();
+
+    Integer getIdPost();
+
+    Integer getIdUser();
+
+    String getComment();
+
+    LocalDateTime getDate();
+
+    String getAuthorName();
+
+    String getAuthorLastName();
+}
@@ -0,0 +1,12 @@
+package itst.socialraccoon.api.repositories.projections;
+
+/**
+ * Text of a post description or comment, as read when building the search index.
+ */
+public interface IndexedTextProjection {
+    Integer getId();
+
+    Integer getIdPost();
+
+    String getText();
+}
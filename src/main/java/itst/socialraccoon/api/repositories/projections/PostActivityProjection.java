@@ -0,0 +1,12 @@
+package itst.socialraccoon.api.repositories.projections;
+
+/**
+ * Number of reactions or comments a post received within one hour, counted in hours since 2000-01-01.
+ */
+public interface PostActivityProjection {
+    Integer getIdPost();
+
+    Long getHour();
+
+    Long getTotal();
+}
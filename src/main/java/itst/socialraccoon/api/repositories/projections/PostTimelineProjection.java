@@ -0,0 +1,9 @@
+package itst.socialraccoon.api.repositories.projections;
+
+import java.time.LocalDateTime;
+
+public interface PostTimelineProjection {
+    Integer getIdPost();
+
+    LocalDateTime getDateCreated();
+}
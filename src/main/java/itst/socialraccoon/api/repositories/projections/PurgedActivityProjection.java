@@ -0,0 +1,15 @@
+package itst.socialraccoon.api.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reaction or comment of a deleted user about to be purged: the comment id (null for reactions), the post it was
+ * made on and when it was made.
+ */
+public interface PurgedActivityProjection {
+    Integer getIdComment();
+
+    Integer getIdPost();
+
+    LocalDateTime getDate();
+}
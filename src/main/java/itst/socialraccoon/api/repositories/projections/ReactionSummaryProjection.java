@@ -0,0 +1,22 @@
+package itst.socialraccoon.api.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the reactions-per-post query: the reaction plus its author's name and its type's name and icon.
+ */
+public interface ReactionSummaryProjection {
+    Integer getIdPost();
+
+    Integer getIdUser();
+
+    String getUserName();
+
+    Integer getIdReactionType();
+
+    String getReactionName();
+
+    String getReactionIcon();
+
+    LocalDateTime getDate();
+}
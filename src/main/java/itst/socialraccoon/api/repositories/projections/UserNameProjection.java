@@ -0,0 +1,7 @@
+package itst.socialraccoon.api.repositories.projections;
+
+public interface UserNameProjection {
+    Integer getIdUser();
+
+    String getName();
+}
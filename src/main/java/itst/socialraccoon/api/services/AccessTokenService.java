@@ -0,0 +1,188 @@
+package itst.socialraccoon.api.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies stateless access tokens of the form {@code base64url(payload).base64url(HMAC-SHA256)},
+ * where the payload is {@code email|issuedAt|expiresAt|tokenId}. Verifying a token needs no database lookup
+ * and no BCrypt, only one HMAC. Revoked tokens are kept in an in-memory denylist until they would have expired
+ * anyway, so the list stays as small as the number of tokens revoked within one token lifetime.
+ */
+@Service
+public class AccessTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '|';
+    private static final int PURGE_THRESHOLD = 1_024;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    // tokenId -> expiresAt of individually revoked tokens
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // email -> tokens issued before this instant are rejected
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AccessTokenService(
+            @Value("${security.token.secret:}") String secret,
+            @Value("${security.token.time-to-live:PT1H}") Duration timeToLive) {
+        this(secret, timeToLive, Clock.systemUTC());
+    }
+
+    AccessTokenService(String secret, Duration timeToLive, Clock clock) {
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issue(String email) {
+        long issuedAt = clock.millis();
+        long expiresAt = issuedAt + timeToLive.toMillis();
+        String payload = email + SEPARATOR + issuedAt + SEPARATOR + expiresAt + SEPARATOR + UUID.randomUUID();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Returns the claims of a well-signed, unexpired and unrevoked token, or {@code null} otherwise.
+     */
+    public Claims verify(String token) {
+        Claims claims = parse(token);
+        if (claims == null || claims.expiresAt() <= clock.millis() || revokedTokens.containsKey(claims.tokenId())) {
+            return null;
+        }
+        Long notBefore = revokedBefore.get(claims.email());
+        if (notBefore != null && claims.issuedAt() < notBefore) {
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Revokes the given token and issues a fresh one for the same user.
+     */
+    public String rotate(String token) {
+        Claims claims = verify(token);
+        if (claims == null) {
+            return null;
+        }
+        revoke(claims);
+        return issue(claims.email());
+    }
+
+    public void revoke(String token) {
+        Claims claims = parse(token);
+        if (claims != null) {
+            revoke(claims);
+        }
+    }
+
+    /**
+     * Invalidates every token issued to the user so far, e.g. after a password change.
+     */
+    public void revokeAll(String email) {
+        if (email != null) {
+            revokedBefore.put(email, clock.millis());
+            purgeExpired();
+        }
+    }
+
+    public long getTimeToLiveSeconds() {
+        return timeToLive.toSeconds();
+    }
+
+    int getDenylistSize() {
+        return revokedTokens.size() + revokedBefore.size();
+    }
+
+    private void revoke(Claims claims) {
+        if (claims.expiresAt() > clock.millis()) {
+            revokedTokens.put(claims.tokenId(), claims.expiresAt());
+            purgeExpired();
+        }
+    }
+
+    private void purgeExpired() {
+        if (revokedTokens.size() + revokedBefore.size() < PURGE_THRESHOLD) {
+            return;
+        }
+        long now = clock.millis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        // Once a whole lifetime has passed, no token older than the cutoff can still be valid
+        long ttl = timeToLive.toMillis();
+        revokedBefore.values().removeIf(notBefore -> notBefore + ttl <= now);
+    }
+
+    private Claims parse(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return null;
+            }
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            return new Claims(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + ALGORITHM, e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            // Without a configured secret tokens are only valid until the application restarts
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public record Claims(String email, long issuedAt, long expiresAt, String tokenId) {
+    }
+}
@@ -0,0 +1,94 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.utils.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Caches the two expensive steps of HTTP Basic authentication: the user lookup by email and the BCrypt check.
+ * Verified credentials are stored only as a SHA-256 of a per-process random salt, the stored BCrypt hash and the
+ * raw password, so the cache never holds a password and a password change invalidates it by itself.
+ */
+@Service
+public class AuthenticationCacheService {
+
+    private final ExpiringCache<String, UserDetails> userDetails;
+    private final ExpiringCache<String, Boolean> verifiedCredentials;
+    private final byte[] salt = new byte[16];
+
+    public AuthenticationCacheService(
+            @Value("${security.cache.user-details.max-size:10000}") int userDetailsMaxSize,
+            @Value("${security.cache.user-details.time-to-live:PT5M}") Duration userDetailsTimeToLive,
+            @Value("${security.cache.credentials.max-size:10000}") int credentialsMaxSize,
+            @Value("${security.cache.credentials.time-to-live:PT5M}") Duration credentialsTimeToLive) {
+        this.userDetails = new ExpiringCache<>(userDetailsMaxSize, userDetailsTimeToLive);
+        this.verifiedCredentials = new ExpiringCache<>(credentialsMaxSize, credentialsTimeToLive);
+        new SecureRandom().nextBytes(salt);
+    }
+
+    public UserDetails getUserDetails(String email, Function<String, UserDetails> loader) {
+        UserDetails cached = userDetails.get(email, loader);
+        // Spring Security erases the password of the principal after authenticating, so never hand out the cached one
+        return cached == null ? null : User.withUserDetails(cached).build();
+    }
+
+    public void invalidateUserDetails(String email) {
+        userDetails.invalidate(email);
+    }
+
+    public void invalidateAllUserDetails() {
+        userDetails.invalidateAll();
+    }
+
+    public boolean isVerified(CharSequence rawPassword, String encodedPassword) {
+        return verifiedCredentials.get(credentialKey(rawPassword, encodedPassword)) != null;
+    }
+
+    public void markVerified(CharSequence rawPassword, String encodedPassword) {
+        verifiedCredentials.put(credentialKey(rawPassword, encodedPassword), Boolean.TRUE);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("userDetails", statsOf(userDetails));
+        stats.put("credentials", statsOf(verifiedCredentials));
+        return stats;
+    }
+
+    private String credentialKey(CharSequence rawPassword, String encodedPassword) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Map<String, Object> statsOf(ExpiringCache<?, ?> cache) {
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", cache.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", cache.getEvictionCount());
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return stats;
+    }
+}
@@ -3,6 +3,7 @@ package itst.socialraccoon.api.services;
 import java.util.List;
 
 import itst.socialraccoon.api.models.AuthenticationModel;
+import itst.socialraccoon.api.utils.TransactionCallbacks;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import itst.socialraccoon.api.repositories.AuthenticationRepository;
@@ -15,6 +16,12 @@ public class AuthenticationService {
     @Autowired
     private AuthenticationRepository authenticationRepository;
 
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    @Autowired
+    private AuthenticationCacheService authenticationCache;
+
     public List<AuthenticationModel> findAll() {
         return authenticationRepository.findAll();
     }
@@ -33,9 +40,24 @@ public class AuthenticationService {
 
     public void update(AuthenticationModel authentication) {
         authenticationRepository.save(authentication);
+        String email = authentication.getEmail();
+        // Only after commit, or a concurrent sign-in could cache the old password again before it is replaced.
+        // The email itself may have changed, so the previous one cannot be looked up reliably here
+        TransactionCallbacks.afterCommit(() -> {
+            accessTokenService.revokeAll(email);
+            authenticationCache.invalidateAllUserDetails();
+        });
     }
 
     public void delete(Integer id) {
+        authenticationRepository.findById(id)
+                .ifPresent(authentication -> {
+                    String email = authentication.getEmail();
+                    TransactionCallbacks.afterCommit(() -> {
+                        accessTokenService.revokeAll(email);
+                        authenticationCache.invalidateUserDetails(email);
+                    });
+                });
         authenticationRepository.deleteById(id);
     }
 
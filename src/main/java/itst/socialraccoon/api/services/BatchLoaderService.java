@@ -0,0 +1,109 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.ImagePostModel;
+import itst.socialraccoon.api.repositories.CommentRepository;
+import itst.socialraccoon.api.repositories.ImagePostRepository;
+import itst.socialraccoon.api.repositories.ReactionRepository;
+import itst.socialraccoon.api.repositories.UserRepository;
+import itst.socialraccoon.api.repositories.projections.CommentPreviewProjection;
+import itst.socialraccoon.api.repositories.projections.ReactionSummaryProjection;
+import itst.socialraccoon.api.repositories.projections.UserNameProjection;
+import itst.socialraccoon.api.utils.BatchLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hands out the batch loaders of the current request, one per association, so list endpoints queue the ids of a
+ * page while mapping it and then load each association with a single IN query. Loaders live in a request
+ * attribute, so values loaded once are reused for the rest of the request; outside requests every call returns
+ * a new loader.
+ * <p>
+ * Read-only service methods call {@link #dispatchAll()} once they have mapped their page, so the queued loads run
+ * inside their transaction, on the replica it was routed to, instead of in autocommit on the primary when the
+ * controller reads them. Loaders hold projections and entities that are only read after that transaction ended,
+ * so none of them may rely on lazy associations.
+ */
+@Service
+public class BatchLoaderService {
+
+    private static final String ATTRIBUTE = BatchLoaderService.class.getName();
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private ImagePostRepository imagePostRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public BatchLoader<Integer, List<CommentPreviewProjection>> commentsByPost() {
+        return loader("commentsByPost", postIds -> commentRepository.getCommentsByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(CommentPreviewProjection::getIdPost)), List.of());
+    }
+
+    public BatchLoader<Integer, List<ReactionSummaryProjection>> reactionsByPost() {
+        return loader("reactionsByPost", postIds -> reactionRepository.getReactionSummariesByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(ReactionSummaryProjection::getIdPost)), List.of());
+    }
+
+    public BatchLoader<Integer, List<ImagePostModel>> imagesByPost() {
+        // The post of each image is an uninitialized reference, but reading its id does not load it
+        return loader("imagesByPost", postIds -> imagePostRepository.getImagePostsByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(image -> image.getIdPost().getIdPost())), List.of());
+    }
+
+    public BatchLoader<Integer, String> userNames() {
+        return loader("userNames", userIds -> userRepository.getNamesByIds(userIds).stream()
+                .collect(Collectors.toMap(UserNameProjection::getIdUser, UserNameProjection::getName)), null);
+    }
+
+    /**
+     * Loads every key queued so far by the loaders of the current request. Outside requests there is nothing
+     * queued, since each call hands out a new loader.
+     */
+    public void dispatchAll() {
+        Map<String, BatchLoader<?, ?>> loaders = loadersOfRequest();
+        if (loaders != null) {
+            loaders.values().forEach(BatchLoader::dispatch);
+        }
+    }
+
+    private <K, V> BatchLoader<K, V> loader(String name, Function<Set<K>, Map<K, V>> batchFunction, V missing) {
+        Map<String, BatchLoader<?, ?>> loaders = loadersOfRequest();
+        if (loaders == null) {
+            return new BatchLoader<>(batchFunction, missing);
+        }
+        @SuppressWarnings("unchecked")
+        BatchLoader<K, V> loader =
+                (BatchLoader<K, V>) loaders.computeIfAbsent(name, key -> new BatchLoader<>(batchFunction, missing));
+        return loader;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, BatchLoader<?, ?>> loadersOfRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, BatchLoader<?, ?>> loaders =
+                (Map<String, BatchLoader<?, ?>>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loaders == null) {
+            loaders = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, loaders, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loaders;
+    }
+}
@@ -0,0 +1,95 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.CareerModel;
+import itst.socialraccoon.api.models.PostModel;
+import itst.socialraccoon.api.repositories.CareerRepository;
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.repositories.projections.PostTimelineProjection;
+import itst.socialraccoon.api.utils.BoundedTimeline;
+import itst.socialraccoon.api.utils.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the most recent post ids of every career in memory, so the career feed is a lookup by primary key
+ * instead of a join of post and user filtered by career. Only the latest {@code career-feed.capacity} posts
+ * of each career are kept; older pages of the feed are empty.
+ */
+@Service
+public class CareerFeedService {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    private final Map<Integer, BoundedTimeline> timelines = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public CareerFeedService(@Value("${career-feed.capacity:500}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTimelines() {
+        for (CareerModel career : careerRepository.findAll()) {
+            BoundedTimeline timeline = timelineOf(career.getIdCareer());
+            for (PostTimelineProjection post : postRepository.getRecentPostsByCareer(career.getIdCareer(), capacity)) {
+                timeline.add(post.getIdPost(), toTime(post.getDateCreated()));
+            }
+        }
+    }
+
+    public Page<PostModel> getFeed(String acronym, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Invalid page number or size");
+        }
+        CareerModel career = careerRepository.getByAcronym(acronym);
+        if (career == null) {
+            throw new NoSuchElementException("Career not found");
+        }
+        BoundedTimeline timeline = timelineOf(career.getIdCareer());
+        List<Integer> postIds = timeline.page((int) Math.min((long) page * size, Integer.MAX_VALUE), size);
+        // This read may be served by a lagging replica, so posts missing from it are skipped but never pruned;
+        // deleted posts leave the timeline through postDeleted
+        List<PostModel> posts = postRepository.findAllByIdInOrder(postIds);
+        return new PageImpl<>(posts, PageRequest.of(page, size), timeline.size());
+    }
+
+    public void postCreated(PostModel post) {
+        if (post == null || post.getIdPost() == null || post.getUser() == null || post.getUser().getCareer() == null) {
+            return;
+        }
+        Integer careerId = post.getUser().getCareer().getIdCareer();
+        int postId = post.getIdPost();
+        long time = toTime(post.getDateCreated());
+        TransactionCallbacks.afterCommit(() -> timelineOf(careerId).add(postId, time));
+    }
+
+    public void postDeleted(Integer postId) {
+        // There are only a handful of careers, so this is cheaper than looking up the career of the post
+        TransactionCallbacks.afterCommit(() -> timelines.values().forEach(timeline -> timeline.remove(postId)));
+    }
+
+    private BoundedTimeline timelineOf(Integer careerId) {
+        return timelines.computeIfAbsent(careerId, id -> new BoundedTimeline(capacity));
+    }
+
+    private static long toTime(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
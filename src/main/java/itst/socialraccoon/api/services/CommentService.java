@@ -2,14 +2,19 @@ package itst.socialraccoon.api.services;
 
 import itst.socialraccoon.api.models.CommentModel;
 import itst.socialraccoon.api.repositories.CommentRepository;
-import jakarta.transaction.Transactional;
+import itst.socialraccoon.api.repositories.projections.CommentPreviewProjection;
+import itst.socialraccoon.api.utils.KeysetCursor;
 import org.checkerframework.checker.units.qual.C;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -18,8 +23,24 @@ public class CommentService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private TrendingPostService trendingPostService;
+
+    @Autowired
+    private NotificationService notificationService;
+
     public CommentModel save(CommentModel comment) {
-        return commentRepository.save(comment);
+        boolean isNew = comment.getIdComment() == null;
+        CommentModel savedComment = commentRepository.save(comment);
+        postSearchService.commentSaved(savedComment);
+        if (isNew && savedComment.getPost() != null) {
+            trendingPostService.commentAdded(savedComment.getPost().getIdPost());
+            notificationService.commentAdded(savedComment);
+        }
+        return savedComment;
     }
 
     public CommentModel delete(Integer id){
@@ -28,31 +49,71 @@ public class CommentService {
             throw new IllegalArgumentException("Comment not found");
         }
         commentRepository.deleteById(id);
+        postSearchService.commentDeleted(id);
+        if (comment.getPost() != null) {
+            trendingPostService.commentRemoved(comment.getPost().getIdPost(), comment.getDate());
+        }
         return comment;
     }
     public CommentModel findById(Integer id) {
         return commentRepository.findById(id).get();
     }
 
+    @Transactional(readOnly = true)
     public List<CommentModel> getCommentsByPostId(Integer postId, int pageNumber, int pageSize) {
-        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-        Page<CommentModel> commentPage = commentRepository.getCommentsByPostId(postId, pageRequest);
-        return commentPage.getContent();
+        return commentRepository.getCommentsByPostId(postId, PageRequest.of(pageNumber, pageSize));
     }
 
+    @Transactional(readOnly = true)
     public List<CommentModel> getCommentsByUserId(Integer userId, int pageNumber, int pageSize) {
-        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-        Page<CommentModel> commentPage = commentRepository.getCommentsByUserId(userId, pageRequest);
-        return commentPage.getContent();
+        return commentRepository.getCommentsByUserId(userId, PageRequest.of(pageNumber, pageSize));
     }
 
+    @Transactional(readOnly = true)
     public List<CommentModel> getCommentsByPostIdAndUserId(Integer postId, Integer userId, int pageNumber, int pageSize) {
-        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-        Page<CommentModel> commentPage = commentRepository.getCommentsByPostIdAndUserId(postId, userId, pageRequest);
-        return commentPage.getContent();
+        return commentRepository.getCommentsByPostIdAndUserId(postId, userId, PageRequest.of(pageNumber, pageSize));
     }
 
     public CommentModel getCommentByPostIdAndUserIdAndCommentId(Integer postId, Integer userId, Integer commentId) {
         return commentRepository.getComment(postId, userId, commentId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns up to {@code limit} comments of the post older than the cursor, newest first.
+     * A {@code null} cursor starts from the newest comment.
+     */
+    @Transactional(readOnly = true)
+    public List<CommentModel> getCommentsByPostId(Integer postId, KeysetCursor cursor, int limit) {
+        if (cursor == null) {
+            return commentRepository.getFirstCommentsByPostId(postId, limit);
+        }
+        return commentRepository.getCommentsByPostIdBefore(postId, cursor.date(), cursor.id(), limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CommentModel> getCommentsByUserId(Integer userId, KeysetCursor cursor, int limit) {
+        if (cursor == null) {
+            return commentRepository.getFirstCommentsByUserId(userId, limit);
+        }
+        return commentRepository.getCommentsByUserIdBefore(userId, cursor.date(), cursor.id(), limit);
+    }
+
+    /**
+     * Returns the newest {@code limit} comments of each post, keyed by post id in the order the ids were given.
+     * Posts without comments map to an empty list.
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, List<CommentPreviewProjection>> getLatestCommentsByPostIds(Collection<Integer> postIds, int limit) {
+        Map<Integer, List<CommentPreviewProjection>> commentsByPost = new LinkedHashMap<>();
+        for (Integer postId : postIds) {
+            commentsByPost.put(postId, new ArrayList<>(limit));
+        }
+        if (commentsByPost.isEmpty()) {
+            return commentsByPost;
+        }
+        for (CommentPreviewProjection comment : commentRepository.getLatestCommentsByPostIds(commentsByPost.keySet(), limit)) {
+            commentsByPost.get(comment.getIdPost()).add(comment);
+        }
+        return commentsByPost;
+    }
+}
@@ -0,0 +1,332 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.DeletionJobModel;
+import itst.socialraccoon.api.models.DeletionJobModel.Step;
+import itst.socialraccoon.api.models.DeletionJobModel.Type;
+import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.AuthenticationRepository;
+import itst.socialraccoon.api.repositories.CommentRepository;
+import itst.socialraccoon.api.repositories.DeletionJobRepository;
+import itst.socialraccoon.api.repositories.ImagePostRepository;
+import itst.socialraccoon.api.repositories.ImageProfileRepository;
+import itst.socialraccoon.api.repositories.NotificationRepository;
+import itst.socialraccoon.api.repositories.PostDescriptionRepository;
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.repositories.ProfileRepository;
+import itst.socialraccoon.api.repositories.ReactionRepository;
+import itst.socialraccoon.api.repositories.RelationshipRepository;
+import itst.socialraccoon.api.repositories.UserRepository;
+import itst.socialraccoon.api.repositories.projections.PurgedActivityProjection;
+import itst.socialraccoon.api.utils.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes users and posts without holding the request for the whole cascade. The request only marks the row as
+ * deleted, which hides it everywhere, and records a job; a background worker then purges the dependent rows in
+ * bulk DELETEs of at most {@code deletion.chunk-size} rows, each in its own short transaction together with the
+ * progress of the job. Every step just deletes whatever is left, so a job interrupted by a failure or a restart
+ * is picked up again from its recorded step every {@code deletion.resume-interval}.
+ */
+@Service
+public class DeletionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeletionJobService.class);
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ImagePostRepository imagePostRepository;
+
+    @Autowired
+    private PostDescriptionRepository postDescriptionRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private RelationshipRepository relationshipRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ImageProfileRepository imageProfileRepository;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private TrendingPostService trendingPostService;
+
+    @Autowired
+    private CareerFeedService careerFeedService;
+
+    @Autowired
+    private PostViewService postViewService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    @Autowired
+    private AuthenticationCacheService authenticationCache;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService worker;
+    private final Set<Integer> queued = ConcurrentHashMap.newKeySet();
+    private final int chunkSize;
+
+    public DeletionJobService(PlatformTransactionManager transactionManager,
+                              @Value("${deletion.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deletion-jobs");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Transactional
+    public void deletePost(Integer postId) {
+        if (postRepository.markDeleted(postId, now()) == 0) {
+            throw new NoSuchElementException("Post not found");
+        }
+        postHidden(postId);
+        createJob(Type.POST, postId);
+    }
+
+    @Transactional
+    public void deleteUser(UserModel user) {
+        if (userRepository.markDeleted(user.getIdUser(), now()) == 0) {
+            throw new NoSuchElementException("User not found");
+        }
+        String email = user.getAuthentication().getEmail();
+        TransactionCallbacks.afterCommit(() -> {
+            accessTokenService.revokeAll(email);
+            authenticationCache.invalidateUserDetails(email);
+        });
+        createJob(Type.USER, user.getIdUser());
+    }
+
+    public DeletionJobModel getJob(Type type, Integer targetId) {
+        DeletionJobModel job = deletionJobRepository.findByTypeAndIdTarget(type, targetId);
+        if (job == null) {
+            throw new NoSuchElementException("Deletion not found");
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${deletion.resume-interval:PT1M}")
+    public void resumePending() {
+        List<Integer> jobIds = transactionTemplate.execute(status -> deletionJobRepository.getPendingJobIds());
+        jobIds.forEach(this::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void createJob(Type type, Integer targetId) {
+        DeletionJobModel job = deletionJobRepository.save(new DeletionJobModel(type, targetId));
+        TransactionCallbacks.afterCommit(() -> submit(job.getIdDeletionJob()));
+    }
+
+    private void submit(Integer jobId) {
+        // A job that is already queued or running is left alone, so the resume pass never runs one twice
+        if (queued.add(jobId)) {
+            worker.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    queued.remove(jobId);
+                }
+            });
+        }
+    }
+
+    void run(Integer jobId) {
+        try {
+            DeletionJobModel job = transactionTemplate.execute(status -> deletionJobRepository.findById(jobId).orElse(null));
+            if (job == null || job.getFinishedDate() != null) {
+                return;
+            }
+            List<Step> steps = job.getType().getSteps();
+            for (Step step : steps.subList(steps.indexOf(job.getStep()), steps.size())) {
+                runStep(job, step);
+            }
+            transactionTemplate.executeWithoutResult(status -> deletionJobRepository.markFinished(jobId, now()));
+        } catch (RuntimeException e) {
+            logger.warn("Deletion job {} stopped and will be resumed", jobId, e);
+        }
+    }
+
+    private void runStep(DeletionJobModel job, Step step) {
+        Integer targetId = job.getIdTarget();
+        if (step != Step.POSTS) {
+            purge(job.getIdDeletionJob(), step, () -> deleteChunk(job.getType(), step, targetId));
+            return;
+        }
+        // The posts of a user were hidden by the previous step; each one is purged like a deleted post
+        Integer postId;
+        while ((postId = transactionTemplate.execute(status -> postRepository.getFirstPostId(targetId))) != null) {
+            Integer currentPostId = postId;
+            for (Step postStep : Type.POST.getSteps()) {
+                purge(job.getIdDeletionJob(), step, () -> deleteChunk(Type.POST, postStep, currentPostId));
+            }
+        }
+    }
+
+    /**
+     * Runs chunks until one deletes less than a full chunk, recording the rows of each one in its transaction.
+     */
+    private void purge(Integer jobId, Step step, IntSupplier chunk) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                int rows = chunk.getAsInt();
+                deletionJobRepository.recordProgress(jobId, step.name(), rows, now());
+                return rows;
+            });
+        } while (deleted >= chunkSize);
+    }
+
+    private int deleteChunk(Type type, Step step, Integer targetId) {
+        if (type == Type.POST) {
+            return switch (step) {
+                case REACTIONS -> reactionRepository.deleteChunkByPostId(targetId, chunkSize);
+                case COMMENTS -> commentRepository.deleteChunkByPostId(targetId, chunkSize);
+                case IMAGES -> imagePostRepository.deleteChunkByPostId(targetId, chunkSize);
+                case DESCRIPTION -> postDescriptionRepository.deleteChunkByPostId(targetId, chunkSize);
+                case NOTIFICATIONS -> notificationRepository.deleteChunkByPostId(targetId, chunkSize);
+                case TARGET -> postRepository.deletePost(targetId);
+                default -> throw new IllegalStateException("Unexpected post deletion step " + step);
+            };
+        }
+        return switch (step) {
+            case HIDE_POSTS -> hidePosts(targetId);
+            case REACTIONS -> purgeReactions(targetId);
+            case COMMENTS -> purgeComments(targetId);
+            case FOLLOWERS -> relationshipRepository.deleteFollowersChunk(targetId, chunkSize);
+            case FOLLOWING -> relationshipRepository.deleteFollowingChunk(targetId, chunkSize);
+            case NOTIFICATIONS -> purgeNotifications(targetId);
+            case PROFILE_IMAGES -> imageProfileRepository.deleteChunkByUserId(targetId, chunkSize);
+            case PROFILE -> profileRepository.deleteChunkByUserId(targetId, chunkSize);
+            case TARGET -> deleteUserRow(targetId);
+            default -> throw new IllegalStateException("Unexpected user deletion step " + step);
+        };
+    }
+
+    private int hidePosts(Integer userId) {
+        List<Integer> postIds = postRepository.getVisiblePostIds(userId, chunkSize);
+        if (postIds.isEmpty()) {
+            return 0;
+        }
+        postRepository.markDeleted(postIds, now());
+        postIds.forEach(this::postHidden);
+        return postIds.size();
+    }
+
+    /**
+     * The user's reactions on other users' posts stop counting for trending, as when the user removes one.
+     */
+    private int purgeReactions(Integer userId) {
+        List<PurgedActivityProjection> reactions = reactionRepository.getChunkByUserId(userId, chunkSize);
+        if (reactions.isEmpty()) {
+            return 0;
+        }
+        int rows = reactionRepository.deleteByUserIdAndPostIds(userId,
+                reactions.stream().map(PurgedActivityProjection::getIdPost).toList());
+        reactions.forEach(reaction -> trendingPostService.reactionRemoved(reaction.getIdPost(), reaction.getDate()));
+        return rows;
+    }
+
+    /**
+     * The user's comments on other users' posts leave the search index and stop counting for trending.
+     */
+    private int purgeComments(Integer userId) {
+        List<PurgedActivityProjection> comments = commentRepository.getChunkByUserId(userId, chunkSize);
+        if (comments.isEmpty()) {
+            return 0;
+        }
+        int rows = commentRepository.deleteByIds(comments.stream().map(PurgedActivityProjection::getIdComment).toList());
+        for (PurgedActivityProjection comment : comments) {
+            postSearchService.commentDeleted(comment.getIdComment());
+            trendingPostService.commentRemoved(comment.getIdPost(), comment.getDate());
+        }
+        return rows;
+    }
+
+    /**
+     * Deletes the user's inbox and the notifications of other users that show the user's name as the last actor,
+     * and stops counting the user in the rest.
+     */
+    private int purgeNotifications(Integer userId) {
+        int rows = notificationRepository.deleteChunkByUserId(userId, chunkSize);
+        rows += notificationRepository.deleteChunkByLastActorId(userId, chunkSize);
+        List<Integer> counted = notificationRepository.getNotificationIdsByActorId(userId, chunkSize);
+        if (!counted.isEmpty()) {
+            rows += notificationRepository.deleteActor(userId, counted);
+            notificationRepository.recountActors(counted);
+        }
+        return rows;
+    }
+
+    private int deleteUserRow(Integer userId) {
+        Integer authenticationId = userRepository.getAuthenticationId(userId);
+        int rows = userRepository.deleteUser(userId);
+        if (authenticationId != null) {
+            rows += authenticationRepository.deleteAuthentication(authenticationId);
+        }
+        return rows;
+    }
+
+    private void postHidden(Integer postId) {
+        postSearchService.postDeleted(postId);
+        trendingPostService.postDeleted(postId);
+        careerFeedService.postDeleted(postId);
+        postViewService.postDeleted(postId);
+        notificationService.postDeleted(postId);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().withNano(0);
+    }
+}
@@ -0,0 +1,89 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.PostModel;
+import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Loads posts and users by id or throws {@link NoSuchElementException}, and remembers them for the rest of the
+ * HTTP request so a controller and the services it calls look each row up once. Rows marked as deleted, which
+ * wait for {@link DeletionJobService} to purge them, are not found.
+ * <p>
+ * Inside a transaction the persistence context is already an identity map, so lookups always go through the
+ * repository and get the managed instance, without a query when it was loaded before in the same transaction.
+ * Instances remembered from an earlier transaction are detached and are only reused outside transactions, where
+ * callers need them as references or to read loaded fields.
+ */
+@Service
+public class EntityLoaderService {
+
+    private static final String ATTRIBUTE = EntityLoaderService.class.getName();
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public PostModel getPost(Integer id) {
+        return load(PostModel.class, id,
+                postId -> postRepository.findById(postId).filter(post -> post.getDeletedDate() == null), "Post not found");
+    }
+
+    public UserModel getUser(Integer id) {
+        return load(UserModel.class, id,
+                userId -> userRepository.findById(userId).filter(user -> user.getDeletedDate() == null), "User not found");
+    }
+
+    private <T> T load(Class<T> type, Integer id, Function<Integer, Optional<T>> finder, String notFound) {
+        if (id == null) {
+            throw new NoSuchElementException(notFound);
+        }
+        Map<Key, Object> loaded = loadedInRequest();
+        Key key = new Key(type, id);
+        if (loaded != null && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            Object cached = loaded.get(key);
+            if (cached != null) {
+                return type.cast(cached);
+            }
+        }
+        T entity = finder.apply(id).orElseThrow(() -> new NoSuchElementException(notFound));
+        if (loaded != null) {
+            loaded.put(key, entity);
+        }
+        return entity;
+    }
+
+    /**
+     * Returns the entities loaded so far in the current request, or {@code null} outside requests
+     * (scheduled jobs, listeners running after the response), which always go to the database.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<Key, Object> loadedInRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Key, Object> loaded = (Map<Key, Object>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loaded == null) {
+            loaded = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, loaded, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loaded;
+    }
+
+    private record Key(Class<?> type, Integer id) {
+    }
+}
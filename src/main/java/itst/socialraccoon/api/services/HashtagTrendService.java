@@ -0,0 +1,93 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.utils.HashtagExtractor;
+import itst.socialraccoon.api.utils.SlidingWindowTopK;
+import itst.socialraccoon.api.utils.TransactionCallbacks;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts how many posts used each hashtag over the last hour, day and week, entirely in memory.
+ * Counts start empty on every restart.
+ */
+@Service
+public class HashtagTrendService {
+
+    private static final int SKETCH_WIDTH = 2_048;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int CANDIDATES_PER_BUCKET = 64;
+
+    public enum Window {
+        HOUR("1h", Duration.ofHours(1), 12),
+        DAY("24h", Duration.ofDays(1), 24),
+        WEEK("7d", Duration.ofDays(7), 28);
+
+        private final String label;
+        private final Duration length;
+        private final int buckets;
+
+        Window(String label, Duration length, int buckets) {
+            this.label = label;
+            this.length = length;
+            this.buckets = buckets;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Window fromLabel(String label) {
+            return Arrays.stream(values())
+                    .filter(window -> window.label.equalsIgnoreCase(label))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("window must be one of 1h, 24h or 7d"));
+        }
+    }
+
+    private final Map<Window, SlidingWindowTopK> windows = new EnumMap<>(Window.class);
+    private final Clock clock;
+
+    public HashtagTrendService() {
+        this(Clock.systemUTC());
+    }
+
+    HashtagTrendService(Clock clock) {
+        this.clock = clock;
+        for (Window window : Window.values()) {
+            windows.put(window, new SlidingWindowTopK(window.length, window.buckets, SKETCH_WIDTH, SKETCH_DEPTH,
+                    CANDIDATES_PER_BUCKET));
+        }
+    }
+
+    /**
+     * Counts the hashtags of a new or edited description. On an edit only tags that were not in the previous
+     * description are counted, so saving a post twice does not make its tags trend.
+     */
+    public void descriptionChanged(String previousDescription, String newDescription) {
+        Set<String> tags = HashtagExtractor.extract(newDescription);
+        tags.removeAll(HashtagExtractor.extract(previousDescription));
+        if (!tags.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> record(tags));
+        }
+    }
+
+    public List<Map.Entry<String, Integer>> getTrending(Window window, int limit) {
+        return windows.get(window).top(limit, clock.millis());
+    }
+
+    void record(Set<String> tags) {
+        long now = clock.millis();
+        for (SlidingWindowTopK counter : windows.values()) {
+            for (String tag : tags) {
+                counter.add(tag, now);
+            }
+        }
+    }
+}
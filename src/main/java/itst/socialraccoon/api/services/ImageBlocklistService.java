@@ -0,0 +1,78 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.repositories.BlockedImageHashRepository;
+import itst.socialraccoon.api.utils.HammingBKTree;
+import itst.socialraccoon.api.utils.PerceptualHash;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+/**
+ * Keeps the perceptual hashes of rejected images in memory so that re-uploads of the same picture,
+ * even re-encoded or resized, are refused locally instead of paying for another remote moderation call.
+ */
+@Service
+public class ImageBlocklistService {
+
+    private final HammingBKTree blockedHashes = new HammingBKTree();
+
+    @Autowired
+    private BlockedImageHashRepository blockedImageHashRepository;
+
+    @Value("${moderation.image.max-hash-distance:6}")
+    private int maxHashDistance;
+
+    @PostConstruct
+    public void loadBlockedHashes() {
+        blockedImageHashRepository.findAllHashes().forEach(blockedHashes::add);
+    }
+
+    public boolean isBlocked(MultipartFile file) {
+        OptionalLong hash = hash(file);
+        return hash.isPresent() && isBlocked(hash.getAsLong());
+    }
+
+    public boolean isBlocked(long hash) {
+        return blockedHashes.containsWithin(hash, maxHashDistance);
+    }
+
+    public void block(MultipartFile file) {
+        OptionalLong hash = hash(file);
+        if (hash.isPresent()) {
+            block(hash.getAsLong());
+        }
+    }
+
+    /**
+     * Stores the hash and only then adds it to the tree, so a hash found in memory is always in the table as well.
+     */
+    public void block(long hash) {
+        if (blockedHashes.containsWithin(hash, 0)) {
+            return;
+        }
+        blockedImageHashRepository.insertIfMissing(hash, LocalDateTime.now().withNano(0));
+        blockedHashes.add(hash);
+    }
+
+    public int getBlockedCount() {
+        return blockedHashes.size();
+    }
+
+    private OptionalLong hash(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        try (InputStream input = file.getInputStream()) {
+            return PerceptualHash.dHash(input);
+        } catch (IOException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -35,35 +35,25 @@ public class ImagePostService {
         imagePostRepository.save(imagePost);
     }
 
-    public void deleteImagePost(Integer postId, Integer imagePostId) {
-        imagePostRepository.deleteImagePost(postId, imagePostId);
+    public boolean deleteImagePost(Integer postId, Integer imagePostId) {
+        return imagePostRepository.deleteImagePost(postId, imagePostId) > 0;
     }
 
-    public List<ImagePostModel> getImagePostByPostId(Integer postId) {
-        return imagePostRepository.getImagePostByPostId(postId);
-    }
-
-    public List<ImagePostModel> getImagePostByPostId(Integer postId, int pageNumber, int pageSize) {
-        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-        return imagePostRepository.getImagePostByPostId(postId, pageRequest);
+    public boolean updateImagePost(Integer postId, Integer imagePostId, String imageUrl, String imageThumbnailUrl) {
+        return imagePostRepository.updateImagePost(postId, imagePostId, imageUrl, imageThumbnailUrl) > 0;
     }
 
-    public List<ImagePostModel> getImagePostByUserId(Integer userId) {
-        return imagePostRepository.getImagePostByUserId(userId);
+    public boolean existsImagePost(Integer postId, Integer imagePostId) {
+        return imagePostRepository.existsByIdImagePostAndIdPost_IdPost(imagePostId, postId);
     }
 
-    public List<ImagePostModel> getImagePostByUserId(Integer userId, int pageNumber, int pageSize) {
-        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-        return imagePostRepository.getImagePostByUserId(userId, pageRequest);
-    }
-
-    public List<ImagePostModel> getImagePostByPostIdAndUserId(Integer postId, Integer userId) {
-        return imagePostRepository.getImagePostByPostIdAndUserId(postId, userId);
+    public List<ImagePostModel> getImagePostByPostId(Integer postId) {
+        return imagePostRepository.getImagePostByPostId(postId);
     }
 
-    public List<ImagePostModel> getImagePostByPostIdAndUserId(Integer postId, Integer userId, int pageNumber, int pageSize) {
+    public List<ImagePostModel> getImagePostByPostId(Integer postId, int pageNumber, int pageSize) {
         PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-        return imagePostRepository.getImagePostByPostIdAndUserId(postId, userId, pageRequest);
+        return imagePostRepository.getImagePostByPostId(postId, pageRequest);
     }
 
     public ImagePostModel getImagePost(Integer postId, Integer imagePostId) {
@@ -0,0 +1,309 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.dtos.LiveUpdateDTO;
+import itst.socialraccoon.api.events.FollowChangedEvent;
+import itst.socialraccoon.api.events.PostCreatedEvent;
+import itst.socialraccoon.api.events.ReactionCountChangedEvent;
+import itst.socialraccoon.api.exceptions.RateLimitExceededException;
+import itst.socialraccoon.api.repositories.RelationshipRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes new posts of followed users and reaction count changes of watched posts over Server-Sent Events.
+ * Connections are asynchronous requests, so an idle client holds no thread. Events coming from the
+ * application are merged per client and sent at most once per {@code live-updates.interval} by a small
+ * shared pool; a client whose previous update is still being written just keeps accumulating, and one that
+ * stays stuck for {@code live-updates.max-lag} is dropped. A blocking write cannot be interrupted and only ends
+ * with the connector's write timeout ({@code server.tomcat.connection-timeout}), so the pool grows past
+ * {@code live-updates.sender-threads} while writes are stuck instead of making every other client wait, up to
+ * {@code live-updates.max-sender-threads}; beyond that, sends are skipped until the next interval. Follows and
+ * unfollows made while a stream is open change the authors it receives posts from.
+ */
+@Service
+public class LiveUpdateService {
+
+    @Autowired
+    private RelationshipRepository relationshipRepository;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> subscribersByAuthor = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> subscribersByPost = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender;
+    private final Clock clock;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final long maxLagMillis;
+    private final int maxPendingPosts;
+    private final int maxSubscribers;
+
+    @Autowired
+    public LiveUpdateService(
+            @Value("${live-updates.timeout:PT30M}") Duration timeout,
+            @Value("${live-updates.heartbeat:PT15S}") Duration heartbeat,
+            @Value("${live-updates.max-lag:PT30S}") Duration maxLag,
+            @Value("${live-updates.max-pending-posts:100}") int maxPendingPosts,
+            @Value("${live-updates.max-subscribers:5000}") int maxSubscribers,
+            @Value("${live-updates.sender-threads:4}") int senderThreads,
+            @Value("${live-updates.max-sender-threads:64}") int maxSenderThreads) {
+        this(timeout, heartbeat, maxLag, maxPendingPosts, maxSubscribers, newSender(senderThreads, maxSenderThreads),
+                Clock.systemUTC());
+    }
+
+    LiveUpdateService(Duration timeout, Duration heartbeat, Duration maxLag, int maxPendingPosts, int maxSubscribers,
+                      ExecutorService sender, Clock clock) {
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatMillis = heartbeat.toMillis();
+        this.maxLagMillis = maxLag.toMillis();
+        this.maxPendingPosts = maxPendingPosts;
+        this.maxSubscribers = maxSubscribers;
+        this.sender = sender;
+        this.clock = clock;
+    }
+
+    public SseEmitter subscribe(Integer userId, Collection<Integer> postIds) {
+        return subscribe(new SseEmitter(timeoutMillis), userId, postIds);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Integer userId, Collection<Integer> postIds) {
+        // The slot is taken before anything else, so concurrent subscriptions cannot overshoot the limit
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RateLimitExceededException("Demasiadas conexiones abiertas, intenta de nuevo más tarde", 30);
+        }
+        Subscriber subscriber = new Subscriber(emitter, userId, Set.copyOf(postIds), maxPendingPosts, clock.millis());
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        subscribers.add(subscriber);
+        // Registered before reading who the user follows, so a follow committed in between is not lost
+        add(subscribersByUser, userId, subscriber);
+        subscriber.postIds.forEach(postId -> add(subscribersByPost, postId, subscriber));
+        try {
+            relationshipRepository.getFollowedUserIds(userId).forEach(authorId -> follow(subscriber, authorId));
+        } catch (RuntimeException e) {
+            unregister(subscriber);
+            throw e;
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        Set<Subscriber> followers = subscribersByAuthor.get(event.authorId());
+        if (followers != null) {
+            followers.forEach(subscriber -> subscriber.postCreated(event.postId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReactionCountChanged(ReactionCountChangedEvent event) {
+        Set<Subscriber> watchers = subscribersByPost.get(event.postId());
+        if (watchers != null) {
+            watchers.forEach(subscriber -> subscriber.reactionCountChanged(event.postId(), event.delta()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        Set<Subscriber> streams = subscribersByUser.get(event.followerId());
+        if (streams == null) {
+            return;
+        }
+        for (Subscriber subscriber : streams) {
+            if (event.following()) {
+                follow(subscriber, event.userId());
+            } else if (subscriber.authorIds.remove(event.userId())) {
+                remove(subscribersByAuthor, event.userId(), subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${live-updates.interval:PT1S}")
+    public void push() {
+        long now = clock.millis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sending) {
+                if (now - subscriber.sendingSince > maxLagMillis) {
+                    // complete() would wait for the stuck send, so the sender closes the stream when it returns
+                    unregister(subscriber);
+                }
+                continue;
+            }
+            if (!subscriber.hasPending() && now - subscriber.lastSentAt < heartbeatMillis) {
+                continue;
+            }
+            subscriber.sending = true;
+            subscriber.sendingSince = now;
+            try {
+                sender.execute(() -> send(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Every sender thread is stuck on a slow client; the changes keep accumulating until the next interval
+                subscriber.sending = false;
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+            unregister(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            LiveUpdateDTO update = subscriber.drain();
+            if (update == null) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                subscriber.emitter.send(SseEmitter.event().name("update").data(update, MediaType.APPLICATION_JSON));
+            }
+            subscriber.lastSentAt = clock.millis();
+            subscriber.sending = false;
+            if (!subscribers.contains(subscriber)) {
+                // Dropped for lagging while this send was stuck
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container reports it through onError/onCompletion as well
+            unregister(subscriber);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        remove(subscribersByUser, subscriber.userId, subscriber);
+        subscriber.authorIds.forEach(authorId -> remove(subscribersByAuthor, authorId, subscriber));
+        subscriber.postIds.forEach(postId -> remove(subscribersByPost, postId, subscriber));
+    }
+
+    private void follow(Subscriber subscriber, Integer authorId) {
+        if (subscriber.authorIds.add(authorId)) {
+            add(subscribersByAuthor, authorId, subscriber);
+            if (!subscribers.contains(subscriber)) {
+                // Unregistered meanwhile, after it had already cleaned up its authors
+                remove(subscribersByAuthor, authorId, subscriber);
+            }
+        }
+    }
+
+    private static ExecutorService newSender(int senderThreads, int maxSenderThreads) {
+        AtomicInteger threads = new AtomicInteger();
+        // Each subscriber has at most one send in flight, so only stuck writes make the pool grow
+        return new ThreadPoolExecutor(senderThreads, Math.max(senderThreads, maxSenderThreads),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "live-updates-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void add(Map<Integer, Set<Subscriber>> index, Integer key, Subscriber subscriber) {
+        index.compute(key, (k, set) -> {
+            Set<Subscriber> subscribers = set == null ? ConcurrentHashMap.newKeySet() : set;
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+    }
+
+    private static void remove(Map<Integer, Set<Subscriber>> index, Integer key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Integer userId;
+        private final Set<Integer> authorIds = ConcurrentHashMap.newKeySet();
+        private final Set<Integer> postIds;
+        private final int maxPendingPosts;
+
+        private final Set<Integer> newPostIds = new LinkedHashSet<>();
+        private final Map<Integer, Integer> reactionDeltas = new HashMap<>();
+        private boolean resync;
+
+        // Only the scheduler sets sending and only the sender clears it
+        private volatile boolean sending;
+        private volatile long sendingSince;
+        private volatile long lastSentAt;
+
+        private Subscriber(SseEmitter emitter, Integer userId, Set<Integer> postIds, int maxPendingPosts, long now) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.postIds = postIds;
+            this.maxPendingPosts = maxPendingPosts;
+            this.lastSentAt = now;
+        }
+
+        private synchronized void postCreated(Integer postId) {
+            if (resync) {
+                return;
+            }
+            if (newPostIds.size() >= maxPendingPosts) {
+                // The client is far behind; asking it to reload is cheaper than buffering
+                newPostIds.clear();
+                resync = true;
+                return;
+            }
+            newPostIds.add(postId);
+        }
+
+        private synchronized void reactionCountChanged(Integer postId, int delta) {
+            reactionDeltas.merge(postId, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        private synchronized boolean hasPending() {
+            return !newPostIds.isEmpty() || !reactionDeltas.isEmpty() || resync;
+        }
+
+        private synchronized LiveUpdateDTO drain() {
+            if (!hasPending()) {
+                return null;
+            }
+            LiveUpdateDTO update = new LiveUpdateDTO(List.copyOf(newPostIds), Map.copyOf(reactionDeltas), resync);
+            newPostIds.clear();
+            reactionDeltas.clear();
+            resync = false;
+            return update;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.CommentModel;
+import itst.socialraccoon.api.models.NotificationModel;
+import itst.socialraccoon.api.models.PostModel;
+import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.NotificationActivityRepository.Activity;
+import itst.socialraccoon.api.repositories.NotificationRepository;
+import itst.socialraccoon.api.utils.KeysetCursor;
+import itst.socialraccoon.api.utils.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells authors about reactions and comments on their posts. Events are not written as they happen: they
+ * are merged in memory per recipient, post and type, and written every {@code notifications.flush-interval}
+ * as one batch of upserts. Each recipient has one notification per post and type, which keeps absorbing new
+ * events and becomes unread again when new ones arrive, so a popular post produces one row per type instead
+ * of one per reaction. The users counted in an unread notification are stored with it, so "Ana y 2 personas más"
+ * counts every actor once however many flushes their activity spans.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+    private final int maxPending;
+
+    public NotificationService(@Value("${notifications.max-pending:50000}") int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public void reactionAdded(PostModel post, UserModel actor) {
+        enqueue(post, actor, NotificationModel.Type.REACTION);
+    }
+
+    public void commentAdded(CommentModel comment) {
+        enqueue(comment.getPost(), comment.getUser(), NotificationModel.Type.COMMENT);
+    }
+
+    public List<NotificationModel> getNotificationsByUserId(Integer userId, KeysetCursor cursor, int limit) {
+        if (cursor == null) {
+            return notificationRepository.getFirstNotificationsByUserId(userId, limit);
+        }
+        return notificationRepository.getNotificationsByUserIdBefore(userId, cursor.date(), cursor.id(), limit);
+    }
+
+    public Integer getUnreadCount(Integer userId) {
+        return notificationRepository.getUnreadCountByUserId(userId);
+    }
+
+    public int markAllAsRead(Integer userId) {
+        return notificationRepository.markAllAsRead(userId);
+    }
+
+    /**
+     * Drops the events still buffered for a post that was just hidden, so the next flush does not write
+     * notifications after the purge removed the existing ones.
+     */
+    public void postDeleted(Integer postId) {
+        TransactionCallbacks.afterCommit(() -> pending.keySet().removeIf(key -> key.postId().equals(postId)));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.flush-interval:PT2S}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Activity> batch = new ArrayList<>();
+        for (Key key : pending.keySet()) {
+            Pending events = pending.remove(key);
+            if (events != null) {
+                batch.add(new Activity(key.userId(), key.postId(), key.type(), events.actorIds,
+                        events.lastActorId, events.lastActorName, events.date));
+            }
+        }
+        try {
+            notificationRepository.addActivity(batch);
+        } catch (RuntimeException e) {
+            // Notifications are best effort; losing one batch is better than retrying it forever
+            logger.warn("Could not save {} notifications", batch.size(), e);
+        }
+    }
+
+    private void enqueue(PostModel post, UserModel actor, NotificationModel.Type type) {
+        if (post == null || post.getUser() == null || actor == null
+                || post.getUser().getIdUser().equals(actor.getIdUser())) {
+            return;
+        }
+        Key key = new Key(post.getUser().getIdUser(), post.getIdPost(), type);
+        Integer actorId = actor.getIdUser();
+        String actorName = actor.getName() + " " + actor.getLastName();
+        LocalDateTime date = LocalDateTime.now().withNano(0);
+        TransactionCallbacks.afterCommit(() -> {
+            if (pending.size() >= maxPending && !pending.containsKey(key)) {
+                logger.warn("Notification queue is full, dropping a {} notification for post {}", type, key.postId());
+                return;
+            }
+            // flush removes a key before reading its events, so they are only changed here, under the bin lock
+            pending.compute(key, (k, events) -> (events == null ? new Pending() : events).add(actorId, actorName, date));
+        });
+    }
+
+    private record Key(Integer userId, Integer postId, NotificationModel.Type type) {
+    }
+
+    private static final class Pending {
+
+        // Every actor counts once, however many times and in whatever order they act
+        private final Set<Integer> actorIds = new LinkedHashSet<>();
+        private Integer lastActorId;
+        private String lastActorName;
+        private LocalDateTime date;
+
+        Pending add(Integer actorId, String actorName, LocalDateTime date) {
+            actorIds.add(actorId);
+            lastActorId = actorId;
+            lastActorName = actorName;
+            this.date = date;
+            return this;
+        }
+    }
+}
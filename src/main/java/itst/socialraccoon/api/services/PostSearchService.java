@@ -0,0 +1,119 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.CommentModel;
+import itst.socialraccoon.api.models.PostModel;
+import itst.socialraccoon.api.repositories.CommentRepository;
+import itst.socialraccoon.api.repositories.PostDescriptionRepository;
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.repositories.projections.IndexedTextProjection;
+import itst.socialraccoon.api.utils.PostSearchIndex;
+import itst.socialraccoon.api.utils.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the in-memory {@link PostSearchIndex} in sync with the database. The index is filled in chunks once
+ * the application is ready and then updated after each committed change to a post or comment.
+ */
+@Service
+public class PostSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchService.class);
+    private static final int BUILD_CHUNK_SIZE = 5_000;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final PostSearchIndex index = new PostSearchIndex();
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostDescriptionRepository postDescriptionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        int descriptions = 0;
+        int lastId = 0;
+        List<IndexedTextProjection> chunk;
+        do {
+            chunk = postDescriptionRepository.getDescriptionsAfter(lastId, BUILD_CHUNK_SIZE);
+            for (IndexedTextProjection row : chunk) {
+                index.indexDescriptionIfAbsent(row.getIdPost(), row.getText());
+                lastId = row.getId();
+            }
+            descriptions += chunk.size();
+        } while (chunk.size() == BUILD_CHUNK_SIZE);
+
+        int comments = 0;
+        lastId = 0;
+        do {
+            chunk = commentRepository.getCommentTextsAfter(lastId, BUILD_CHUNK_SIZE);
+            for (IndexedTextProjection row : chunk) {
+                index.indexCommentIfAbsent(row.getId(), row.getIdPost(), row.getText());
+                lastId = row.getId();
+            }
+            comments += chunk.size();
+        } while (chunk.size() == BUILD_CHUNK_SIZE);
+
+        logger.info("Search index built from {} descriptions and {} comments in {} ms ({} terms, {} bytes of postings)",
+                descriptions, comments, System.currentTimeMillis() - start, index.termCount(), index.postingBytes());
+    }
+
+    public Page<PostModel> search(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((long) page * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("page is too large");
+        }
+        int[] postIds = index.search(query);
+        int from = Math.min(page * size, postIds.length);
+        int to = Math.min(from + size, postIds.length);
+        List<Integer> pageIds = Arrays.stream(postIds, from, to).boxed().toList();
+
+        // Posts removed without going through PostService (e.g. with their user) are just skipped
+        List<PostModel> posts = postRepository.findAllByIdInOrder(pageIds);
+        return new PageImpl<>(posts, PageRequest.of(page, size), postIds.length);
+    }
+
+    public void postSaved(PostModel post) {
+        if (post == null || post.getIdPost() == null) {
+            return;
+        }
+        int postId = post.getIdPost();
+        String description = post.getIdPostDescription() == null ? "" : post.getIdPostDescription().getDescription();
+        TransactionCallbacks.afterCommit(() -> index.indexDescription(postId, description));
+    }
+
+    public void postDeleted(Integer postId) {
+        TransactionCallbacks.afterCommit(() -> index.removePost(postId));
+    }
+
+    public void commentSaved(CommentModel comment) {
+        if (comment == null || comment.getIdComment() == null || comment.getPost() == null) {
+            return;
+        }
+        int commentId = comment.getIdComment();
+        int postId = comment.getPost().getIdPost();
+        String text = comment.getComment();
+        TransactionCallbacks.afterCommit(() -> index.indexComment(commentId, postId, text));
+    }
+
+    public void commentDeleted(Integer commentId) {
+        TransactionCallbacks.afterCommit(() -> index.removeComment(commentId));
+    }
+}
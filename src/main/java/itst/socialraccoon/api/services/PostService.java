@@ -1,21 +1,25 @@
 package itst.socialraccoon.api.services;
 
+import itst.socialraccoon.api.events.PostCreatedEvent;
 import itst.socialraccoon.api.models.PostDescriptionModel;
 import itst.socialraccoon.api.models.PostModel;
 import itst.socialraccoon.api.models.UserModel;
 import itst.socialraccoon.api.repositories.PostRepository;
 import itst.socialraccoon.api.models.ImagePostModel;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 
 @Service
 public class PostService {
@@ -33,9 +37,41 @@ public class PostService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private HashtagTrendService hashtagTrendService;
+
+    @Autowired
+    private TrendingPostService trendingPostService;
+
+    @Autowired
+    private CareerFeedService careerFeedService;
+
+    @Autowired
+    private PostViewService postViewService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityLoaderService entityLoaderService;
+
+    @Autowired
+    private DeletionJobService deletionJobService;
+
+    @Autowired
+    private BatchLoaderService batchLoaderService;
+
     @Transactional
     public PostModel save(PostModel post) {
-        return postRepository.save(post);
+        PostModel savedPost = postRepository.save(post);
+        hashtagTrendService.descriptionChanged(null, descriptionOf(savedPost));
+        postSearchService.postSaved(savedPost);
+        careerFeedService.postCreated(savedPost);
+        eventPublisher.publishEvent(new PostCreatedEvent(savedPost.getIdPost(), savedPost.getUser().getIdUser()));
+        return savedPost;
     }
 
     public List<PostModel> findAll() {
@@ -43,8 +79,7 @@ public class PostService {
     }
 
     public PostModel findById(Integer id) {
-        return postRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("Post not found"));
+        return entityLoaderService.getPost(id);
     }
 
     public PostModel findById(Integer id, Integer userId) {
@@ -52,14 +87,20 @@ public class PostService {
     }
 
     public void deleteById(Integer id) {
-        postRepository.deleteById(id);
+        deletionJobService.deletePost(id);
     }
 
     public List<PostModel> findByUser(Integer id) {
         return postRepository.findByUser(id);
     }
 
-    public List<PostModel> findByUser(Integer userId, int pageNumber, int pageSize) {
+    /**
+     * Open-session-in-view is disabled, so the read methods take the mapper that turns each post into its DTO
+     * and apply it while the transaction, and with it the lazy associations, is still open. Associations the
+     * mapper queued in the request's batch loaders are loaded before the transaction ends as well.
+     */
+    @Transactional(readOnly = true)
+    public <T> List<T> findByUser(Integer userId, int pageNumber, int pageSize, Function<PostModel, T> mapper) {
         if (pageNumber < 0 || pageSize < 1) {
             throw new IllegalArgumentException("Invalid page number or size");
         }
@@ -67,63 +108,51 @@ public class PostService {
             throw new IllegalArgumentException("User ID cannot be null");
         }
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return postRepository.findByUserAndPost(userId, pageable).getContent();
+        return dispatchLoads(postRepository.findByUser_IdUser(userId, pageable).getContent().stream().map(mapper).toList());
     }
 
-    public Page<PostModel> getFeed(Pageable pageable) {
-        return postRepository.findAllByOrderByDateCreatedDesc(pageable);
+    @Transactional(readOnly = true)
+    public <T> Page<T> getFeed(Pageable pageable, Function<PostModel, T> mapper) {
+        return dispatchLoads(postRepository.findAllByOrderByDateCreatedDesc(pageable).map(mapper));
     }
 
+    /**
+     * Hides the post right away and leaves its comments, reactions and images to a background purge.
+     */
     @Transactional
     public void delete(Integer id) {
-        if (!postRepository.existsById(id)) {
-            throw new NoSuchElementException("Post not found");
-        }
-        postRepository.deleteById(id);
+        findById(id);
+        deletionJobService.deletePost(id);
     }
 
     @Transactional
     public void delete(Integer postId, Integer userId) {
-        if (!postRepository.existsById(postId)) {
-            throw new NoSuchElementException("Post not found");
-        }
         PostModel post = postRepository.findByUserAndPost(userId, postId);
         if (post == null) {
+            findById(postId);
             throw new NoSuchElementException("Post not found or does not belong to the user");
         }
-        postRepository.delete(post);
+        deletionJobService.deletePost(postId);
     }
 
+    /**
+     * Removes one image with a single DELETE keyed by post and image, without loading the post or its collections.
+     */
     @Transactional
     public void deleteImage(Integer postId, Integer imageId) {
-        if (!postRepository.existsById(postId)) {
-            throw new NoSuchElementException("Post not found");
-        }
-        PostModel post = postRepository.getReferenceById(postId);
-        boolean imageExists = post.getImages().stream()
-                .anyMatch(image -> image.getIdImagePost().equals(imageId));
-        if (!imageExists) {
-            throw new NoSuchElementException("Image not found");
+        if (imagePostService.deleteImagePost(postId, imageId)) {
+            return;
         }
-        post.getImages().removeIf(image -> image.getIdImagePost().equals(imageId));
-        postRepository.save(post);
-        System.out.println("Image deleted successfully");
+        findById(postId);
+        throw new NoSuchElementException("Image not found");
     }
 
     @Transactional
     public void addImage(Integer postId, MultipartFile image) {
-        if (!postRepository.existsById(postId)) {
-            throw new NoSuchElementException("Post not found");
-        }
-        PostModel post = postRepository.getReferenceById(postId);
+        PostModel post = findById(postId);
         try {
             String imageUrl = imageStorageService.storeImage(image);
-            ImagePostModel imagePost = new ImagePostModel();
-            imagePost.setIdPost(post);
-            imagePost.setImageUrl(imageUrl);
-            imagePost.setImageThumbnailUrl(imageUrl);
-            post.getImages().add(imagePost);
-            postRepository.save(post);
+            imagePostService.save(new ImagePostModel(null, imageUrl, imageUrl, post));
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -136,48 +165,45 @@ public class PostService {
         if (pageNumber < 0 || pageSize < 1) {
             throw new IllegalArgumentException("Invalid page number or size");
         }
-        if (!postRepository.existsById(postId)) {
-            throw new NoSuchElementException("Post not found");
-        }
+        findById(postId);
         return imagePostService.getImagePostByPostId(postId, pageNumber, pageSize);
     }
 
     @Transactional
-    public PostModel update(Integer id, String description) {
-        if (!postRepository.existsById(id)) {
-            throw new NoSuchElementException("Post not found");
-        }
-        PostModel existingPost = postRepository.findById(id).get();
+    public <T> T update(Integer id, String description, Function<PostModel, T> mapper) {
+        PostModel existingPost = findById(id);
         PostDescriptionModel descriptionModel = existingPost.getIdPostDescription();
+        hashtagTrendService.descriptionChanged(descriptionModel.getDescription(), description);
         descriptionModel.setDescription(description);
         existingPost.setIdPostDescription(descriptionModel);
-        return postRepository.save(existingPost);
+        PostModel savedPost = postRepository.save(existingPost);
+        postSearchService.postSaved(savedPost);
+        return mapper.apply(savedPost);
     }
 
     @Transactional
     public PostModel update(Integer id, String description, Integer userId) {
         PostModel existingPost = postRepository.findByUserAndPost(id, userId);
         PostDescriptionModel descriptionModel = existingPost.getIdPostDescription();
+        hashtagTrendService.descriptionChanged(descriptionModel.getDescription(), description);
         descriptionModel.setDescription(description);
         existingPost.setIdPostDescription(descriptionModel);
-        return postRepository.save(existingPost);
+        PostModel savedPost = postRepository.save(existingPost);
+        postSearchService.postSaved(savedPost);
+        return savedPost;
     }
 
     @Transactional
     public String update(Integer postId, Integer imageId, MultipartFile image) {
-        if (!postRepository.existsById(postId)) {
-            throw new NoSuchElementException("Post not found");
-        }
-        PostModel post = postRepository.findById(postId).get();
-        ImagePostModel imagePost = imagePostService.getImagePost(postId, imageId);
-        if (imagePost == null) {
+        if (!imagePostService.existsImagePost(postId, imageId)) {
+            findById(postId);
             throw new NoSuchElementException("Image not found");
         }
         try {
             String imageUrl = imageStorageService.storeImage(image);
-            imagePost.setImageUrl(imageUrl);
-            imagePost.setImageThumbnailUrl(imageUrl);
-            postRepository.save(post);
+            if (!imagePostService.updateImagePost(postId, imageId, imageUrl, imageUrl)) {
+                throw new NoSuchElementException("Image not found");
+            }
             return imageUrl;
         } catch (IOException e) {
             e.printStackTrace();
@@ -194,14 +220,61 @@ public class PostService {
             imagePost.setImageUrl(imageUrl);
             imagePost.setImageThumbnailUrl(imageUrl);
             post.setImages(List.of(imagePost));
-            return postRepository.save(post);
+            PostModel savedPost = postRepository.save(post);
+            postSearchService.postSaved(savedPost);
+            careerFeedService.postCreated(savedPost);
+            eventPublisher.publishEvent(new PostCreatedEvent(savedPost.getIdPost(), savedPost.getUser().getIdUser()));
+            hashtagTrendService.descriptionChanged(null, descriptionOf(savedPost));
+            return savedPost;
         } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
 
-    public Page<PostModel> getFollowingFeed(Integer userId, Pageable pageable) {
-        return postRepository.findRandomPostsByFollowedUsers(userId, pageable);
+    public void recordView(Integer postId, String viewer) {
+        findById(postId);
+        postViewService.recordView(postId, viewer);
+    }
+
+    public long getUniqueViewers(Integer postId) {
+        findById(postId);
+        return postViewService.getUniqueViewers(postId);
+    }
+
+    @Transactional(readOnly = true)
+    public <T> Page<T> getCareerFeed(String acronym, int pageNumber, int pageSize, Function<PostModel, T> mapper) {
+        return dispatchLoads(careerFeedService.getFeed(acronym, pageNumber, pageSize).map(mapper));
+    }
+
+    @Transactional(readOnly = true)
+    public <T> Page<T> getTrendingFeed(int pageNumber, int pageSize, Function<PostModel, T> mapper) {
+        return dispatchLoads(trendingPostService.getTrending(pageNumber, pageSize).map(mapper));
+    }
+
+    @Transactional(readOnly = true)
+    public <T> Page<T> getFollowingFeed(Integer userId, Pageable pageable, Function<PostModel, T> mapper) {
+        return dispatchLoads(postRepository.findRandomPostsByFollowedUsers(userId, pageable).map(mapper));
+    }
+
+    @Transactional(readOnly = true)
+    public <T> Page<T> search(String query, int pageNumber, int pageSize, Function<PostModel, T> mapper) {
+        return dispatchLoads(postSearchService.search(query, pageNumber, pageSize).map(mapper));
+    }
+
+    public List<Map.Entry<String, Integer>> getTrendingTags(HashtagTrendService.Window window, int limit) {
+        if (limit < 1 || limit > 50) {
+            throw new IllegalArgumentException("limit must be between 1 and 50");
+        }
+        return hashtagTrendService.getTrending(window, limit);
+    }
+
+    private <P> P dispatchLoads(P page) {
+        batchLoaderService.dispatchAll();
+        return page;
+    }
+
+    private static String descriptionOf(PostModel post) {
+        return post.getIdPostDescription() == null ? null : post.getIdPostDescription().getDescription();
     }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.PostViewSketchModel;
+import itst.socialraccoon.api.repositories.PostViewSketchRepository;
+import itst.socialraccoon.api.utils.HyperLogLog;
+import itst.socialraccoon.api.utils.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the different users that viewed each post with a {@link HyperLogLog} sketch, so a view costs a few
+ * bits instead of a row. Sketches of recently viewed posts live in memory; changed ones are saved every
+ * {@code post-views.flush-interval} and sketches that were not viewed since the previous save are dropped.
+ */
+@Service
+public class PostViewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostViewService.class);
+
+    @Autowired
+    private PostViewSketchRepository postViewSketchRepository;
+
+    private final Map<Integer, Slot> sketches = new ConcurrentHashMap<>();
+
+    public void recordView(Integer postId, String viewer) {
+        // The sketch is loaded outside compute, so the query never blocks other posts hashed to the same bin
+        while (sketches.computeIfPresent(postId, (id, slot) -> {
+            slot.touched = true;
+            if (slot.sketch.offer(viewer)) {
+                slot.dirty = true;
+            }
+            return slot;
+        }) == null) {
+            sketches.putIfAbsent(postId, new Slot(load(postId)));
+        }
+    }
+
+    public long getUniqueViewers(Integer postId) {
+        long[] estimate = new long[1];
+        Slot slot = sketches.computeIfPresent(postId, (id, current) -> {
+            estimate[0] = current.sketch.estimate();
+            return current;
+        });
+        return slot != null ? estimate[0] : load(postId).estimate();
+    }
+
+    public void postDeleted(Integer postId) {
+        // Flushes from now on skip the post in SQL, since it is marked as deleted
+        TransactionCallbacks.afterCommit(() -> {
+            sketches.remove(postId);
+            if (postViewSketchRepository.existsById(postId)) {
+                postViewSketchRepository.deleteById(postId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${post-views.flush-interval:PT1M}", initialDelayString = "${post-views.flush-interval:PT1M}")
+    @PreDestroy
+    public void flush() {
+        List<PostViewSketchModel> changed = new ArrayList<>();
+        for (Integer postId : sketches.keySet()) {
+            sketches.computeIfPresent(postId, (id, slot) -> {
+                if (slot.dirty) {
+                    changed.add(new PostViewSketchModel(id, slot.sketch.toBytes()));
+                    slot.dirty = false;
+                } else if (!slot.touched) {
+                    return null;
+                }
+                slot.touched = false;
+                return slot;
+            });
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            postViewSketchRepository.saveVisible(changed);
+        } catch (RuntimeException e) {
+            // Keep the sketches in memory and try again on the next flush
+            changed.forEach(model -> sketches.computeIfPresent(model.getIdPost(), (id, slot) -> {
+                slot.dirty = true;
+                return slot;
+            }));
+            logger.warn("Could not save {} post view sketches", changed.size(), e);
+        }
+    }
+
+    private HyperLogLog load(Integer postId) {
+        return postViewSketchRepository.findById(postId)
+                .map(model -> HyperLogLog.fromBytes(model.getSketch()))
+                .orElseGet(HyperLogLog::new);
+    }
+
+    // Only read and written inside ConcurrentHashMap.compute*, which serializes access per post
+    private static final class Slot {
+        private final HyperLogLog sketch;
+        private boolean dirty;
+        private boolean touched;
+
+        private Slot(HyperLogLog sketch) {
+            this.sketch = sketch;
+        }
+    }
+}
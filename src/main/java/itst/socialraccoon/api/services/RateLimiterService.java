@@ -0,0 +1,113 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.annotations.RateLimited.Category;
+import itst.socialraccoon.api.utils.TokenBucket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one token bucket per user and category, at most {@code rate-limit.max-buckets} of them. A full bucket
+ * behaves like a new one, so full buckets are dropped to make room; one that is still refilling is never dropped,
+ * since that would forgive its owner. When every slot holds a refilling bucket, callers without a bucket are
+ * asked to wait until the next purge.
+ */
+@Service
+public class RateLimiterService {
+
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<Category, Limit> limits = new EnumMap<>(Category.class);
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // Slots taken in buckets, reserved before a bucket is added so the map never grows past maxBuckets
+    private final AtomicInteger bucketCount = new AtomicInteger();
+    private final AtomicLong lastPurge = new AtomicLong();
+    private final int maxBuckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimiterService(
+            @Value("${rate-limit.reaction.capacity:30}") int reactionCapacity,
+            @Value("${rate-limit.reaction.period:PT1M}") Duration reactionPeriod,
+            @Value("${rate-limit.comment.capacity:10}") int commentCapacity,
+            @Value("${rate-limit.comment.period:PT1M}") Duration commentPeriod,
+            @Value("${rate-limit.image-upload.capacity:5}") int imageUploadCapacity,
+            @Value("${rate-limit.image-upload.period:PT1M}") Duration imageUploadPeriod,
+            @Value("${rate-limit.max-buckets:100000}") int maxBuckets) {
+        this(Map.of(
+                Category.REACTION, new Limit(reactionCapacity, reactionPeriod),
+                Category.COMMENT, new Limit(commentCapacity, commentPeriod),
+                Category.IMAGE_UPLOAD, new Limit(imageUploadCapacity, imageUploadPeriod)
+        ), maxBuckets, System::nanoTime);
+    }
+
+    RateLimiterService(Map<Category, Limit> limits, int maxBuckets, LongSupplier nanoClock) {
+        this.limits.putAll(limits);
+        this.maxBuckets = maxBuckets;
+        this.nanoClock = nanoClock;
+        this.lastPurge.set(nanoClock.getAsLong() - PURGE_INTERVAL_NANOS);
+    }
+
+    /**
+     * Takes a token from the bucket of the given user and category. Returns 0 when the request may proceed,
+     * otherwise the number of whole seconds the caller should wait.
+     */
+    public long tryAcquire(String user, Category category) {
+        long now = nanoClock.getAsLong();
+        String key = category.name() + ':' + user;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = addBucket(key, limits.get(category), now);
+            if (bucket == null) {
+                return TimeUnit.NANOSECONDS.toSeconds(PURGE_INTERVAL_NANOS);
+            }
+        }
+        long waitNanos = bucket.tryConsume(now);
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+    private TokenBucket addBucket(String key, Limit limit, long now) {
+        if (bucketCount.get() >= maxBuckets) {
+            purgeFullBuckets(now);
+        }
+        return buckets.computeIfAbsent(key, k -> {
+            if (bucketCount.incrementAndGet() > maxBuckets) {
+                bucketCount.decrementAndGet();
+                return null;
+            }
+            return new TokenBucket(limit.capacity(), limit.refillNanos(), now);
+        });
+    }
+
+    // Scans the whole map, so it runs at most once per interval however many callers find it full
+    private void purgeFullBuckets(long now) {
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_NANOS || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isFull(now) && buckets.remove(entry.getKey(), entry.getValue())) {
+                bucketCount.decrementAndGet();
+            }
+        }
+    }
+
+    record Limit(int capacity, Duration period) {
+        long refillNanos() {
+            return Math.max(1, period.toNanos() / capacity);
+        }
+    }
+}
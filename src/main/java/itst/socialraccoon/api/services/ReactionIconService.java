@@ -4,7 +4,6 @@ import itst.socialraccoon.api.models.ReactionIconModel;
 import itst.socialraccoon.api.repositories.ReactionIconRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -31,21 +30,4 @@ public class ReactionIconService {
     public void update(ReactionIconModel reactionIcon){
         reactionIconRepository.save(reactionIcon);
     }
-
-    public void deleteReactionIcon(Integer reactionTypeId,Integer reactionIconId){
-        reactionIconRepository.deleteReactionIcon(reactionTypeId ,reactionIconId);
-    }
-
-    public List<ReactionIconModel> getReactionIconByReactionTypeId(Integer reactionTypeId){
-        return reactionIconRepository.getReactionIconByReactionTypeId(reactionTypeId);
-    }
-
-    public List<ReactionIconModel> getReactionIconByReactionTypeId(Integer reactionTypeId, int pageNumber, int pageSize){
-        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-        return reactionIconRepository.getReactionIconByReactionTypeId(reactionTypeId, pageRequest);
-    }
-
-    public ReactionIconModel getReactionIcon(Integer reactionTypeId, Integer reactionIconId){
-        return reactionIconRepository.getReactionIcon(reactionTypeId,reactionIconId);
-    }
 }
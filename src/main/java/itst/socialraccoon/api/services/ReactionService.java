@@ -1,21 +1,25 @@
 package itst.socialraccoon.api.services;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 
+import itst.socialraccoon.api.events.ReactionCountChangedEvent;
 import itst.socialraccoon.api.models.PostModel;
 import itst.socialraccoon.api.models.compositekeys.ReactionPK;
 import itst.socialraccoon.api.repositories.ReactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import itst.socialraccoon.api.models.ReactionModel;
 import itst.socialraccoon.api.models.ReactionTypeModel;
 import itst.socialraccoon.api.models.UserModel;
-import jakarta.transaction.Transactional;
 
 
 @Service
@@ -30,33 +34,47 @@ public class ReactionService {
     private UserService userService;
     @Autowired
     private ReactionTypeService reactionTypeService;
+    @Autowired
+    private TrendingPostService trendingPostService;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private BatchLoaderService batchLoaderService;
 
+    @Transactional(readOnly = true)
     public List<ReactionModel> getReactionsByPostId(Integer postId) {
         return reactionRepository.getReactionsByPostId(postId);
     }
 
-    public List<ReactionModel> getReactionsByPostId(Integer postId, int pageNumber, int pageSize) {
+    @Transactional(readOnly = true)
+    public <T> List<T> getReactionsByPostId(Integer postId, int pageNumber, int pageSize, Function<ReactionModel, T> mapper) {
         PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-        return reactionRepository.getReactionsByPostId(postId, pageRequest);
+        List<T> reactions = reactionRepository.getReactionsByPostId(postId, pageRequest).stream().map(mapper).toList();
+        // Loads the names the mapper queued while this transaction is still open
+        batchLoaderService.dispatchAll();
+        return reactions;
     }
 
+    @Transactional(readOnly = true)
     public List<ReactionModel> getReactionsByUserId(int userId) {
         return reactionRepository.getReactionsByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<ReactionModel> getReactionsByUserId(int userId, int pageNumber, int pageSize) {
         PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
         return reactionRepository.getReactionsByUserId(userId, pageRequest);
     }
 
+    @Transactional(readOnly = true)
     public Integer getReactionCountByPostId(int postId) {
-        if (postService.findById(postId) == null) {
-            throw new NoSuchElementException();
-        }
+        postService.findById(postId);
         return reactionRepository.getReactionCountByPostId(postId);
     }
 
-    public ReactionModel reactOrUpdate(Integer postId, Integer userId, Integer reactionTypeId) {
+    public <T> T reactOrUpdate(Integer postId, Integer userId, Integer reactionTypeId, Function<ReactionModel, T> mapper) {
         PostModel post = postService.findById(postId);
         UserModel user = userService.findById(userId);
         ReactionTypeModel reactionType = reactionTypeService.getById(reactionTypeId);
@@ -64,29 +82,38 @@ public class ReactionService {
         ReactionModel existingReaction = reactionRepository.getReactionByPostIdAndUserId(postId, userId);
         if (existingReaction != null) {
             existingReaction.setIdReactionType(reactionType);
-            return reactionRepository.save(existingReaction);
+            return mapper.apply(reactionRepository.save(existingReaction));
         } else {
             ReactionModel newReaction = new ReactionModel(reactionType, post, user);
-            return reactionRepository.save(newReaction);
+            ReactionModel savedReaction = reactionRepository.save(newReaction);
+            trendingPostService.reactionAdded(postId);
+            notificationService.reactionAdded(post, user);
+            eventPublisher.publishEvent(new ReactionCountChangedEvent(postId, 1));
+            return mapper.apply(savedReaction);
         }
     }
 
     public boolean deleteReaction(Integer postId, Integer userId) {
-        if (postService.findById(postId) == null || userService.findById(userId) == null) {
-            throw new NoSuchElementException("Post or user not found");
+        // The lock keeps the date read here for the row the DELETE removes
+        LocalDateTime reactedAt = reactionRepository.getReactionDateForUpdate(postId, userId);
+        // Only the request whose DELETE removed the row reports the change, so concurrent deletes count once
+        if (reactionRepository.deleteReaction(postId, userId) == 0) {
+            // Only a miss needs the post and the user to tell which one is wrong
+            postService.findById(postId);
+            userService.findById(userId);
+            throw new NoSuchElementException("Reaction not found");
         }
-        ReactionModel reaction = reactionRepository.getReactionByPostIdAndUserId(postId, userId);
-        if (reaction != null) {
-            reactionRepository.delete(reaction);
-            return true;
-        }
-        throw new NoSuchElementException("Reaction not found");
+        trendingPostService.reactionRemoved(postId, reactedAt);
+        eventPublisher.publishEvent(new ReactionCountChangedEvent(postId, -1));
+        return true;
     }
 
+    @Transactional(readOnly = true)
     public ReactionModel getById(ReactionPK reactionPK) {
         return reactionRepository.findById(reactionPK).get();
     }
 
+    @Transactional(readOnly = true)
     public Page<ReactionModel> getAll(Pageable pageable) {
         return reactionRepository.findAll(pageable);
     }
@@ -98,18 +125,14 @@ public class ReactionService {
         return reaction;
     }
 
+    @Transactional(readOnly = true)
     public ReactionModel getReactionByPostIdAndUserId(int postId, int userId) {
         return reactionRepository.getReactionByPostIdAndUserId(postId, userId);
     }
 
-    public void deleteByUserId(UserModel user) {
-        reactionRepository.deleteByIdUser(user);
-    }
-
+    @Transactional(readOnly = true)
     public Integer getReactionCountByPostIdAndReactionTypeId(int postId, int reactionTypeId) {
-        if (postService.findById(postId) == null) {
-            throw new NoSuchElementException();
-        }
+        postService.findById(postId);
         return reactionRepository.getReactionCountByPostIdAndReactionType(postId, reactionTypeId);
     }
 
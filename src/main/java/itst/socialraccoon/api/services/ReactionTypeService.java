@@ -35,8 +35,4 @@ public class ReactionTypeService {
         reactionTypeRepository.save(reactionType);
     }
 
-    public ReactionTypeModel getByName(String name) {
-        return reactionTypeRepository.getByName(name);
-    }
-
 }
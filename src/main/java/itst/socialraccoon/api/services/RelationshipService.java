@@ -6,18 +6,20 @@ import java.util.stream.Collectors;
 
 import itst.socialraccoon.api.dtos.RelationshipDTO;
 import itst.socialraccoon.api.dtos.RelationshipInfoDTO;
+import itst.socialraccoon.api.events.FollowChangedEvent;
 import itst.socialraccoon.api.models.RelationshipModel;
 import itst.socialraccoon.api.models.UserModel;
 import itst.socialraccoon.api.models.compositekeys.RelationshipPK;
 import itst.socialraccoon.api.repositories.RelationshipRepository;
 import itst.socialraccoon.api.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.transaction.Transactional;
 
 @Service
 @Transactional
@@ -33,6 +35,9 @@ public class RelationshipService {
     @Autowired
     private RelationshipRepository relationshipRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public void followUser(Integer userId, Integer followerId) {
         // Check if users exist
         UserModel user = userRepository.findById(userId)
@@ -53,6 +58,7 @@ public class RelationshipService {
         // Create the relationship
         RelationshipModel relationship = new RelationshipModel(user, followerUser);
         relationshipRepository.save(relationship);
+        eventPublisher.publishEvent(new FollowChangedEvent(userId, followerId, true));
     }
 
 
@@ -66,19 +72,15 @@ public class RelationshipService {
         // Create the composite key to check if the relationship exists
         RelationshipPK relationshipPK = new RelationshipPK(user, followerUser);
 
-        // Check if the relationship exists
-        boolean isFollowing = relationshipRepository.existsById(relationshipPK);
-        if (!isFollowing) {
-            throw new NoSuchElementException("No relationship found for userId: " + userId + " and followerId: " + followerId);
-        }
-
         // Retrieve the existing relationship and delete it
         RelationshipModel relationshipModel = relationshipRepository.findById(relationshipPK)
-                .orElseThrow(() -> new NoSuchElementException("Relationship could not be found"));
+                .orElseThrow(() -> new NoSuchElementException("No relationship found for userId: " + userId + " and followerId: " + followerId));
 
         relationshipRepository.delete(relationshipModel);
+        eventPublisher.publishEvent(new FollowChangedEvent(userId, followerId, false));
     }
 
+    @Transactional(readOnly = true)
     public RelationshipDTO getFollowersAndFollowing(Integer userId) {
         List<RelationshipModel> followers = relationshipRepository.getFollowersByUserId(userId);
         List<RelationshipModel> following = relationshipRepository.getFollowingByUserId(userId);
@@ -93,6 +95,7 @@ public class RelationshipService {
         return relationshipDTO;
     }
 
+    @Transactional(readOnly = true)
     public List<RelationshipInfoDTO> getFollowersByUserId(Integer userId, Integer page, Integer size) {
         Pageable pageable = PageRequest.of(page, size);
         List<RelationshipModel> followers = relationshipRepository.getFollowersByUserIdPaginated(userId, pageable);
@@ -102,6 +105,7 @@ public class RelationshipService {
         }).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<RelationshipInfoDTO> getFollowingByUserId(Integer userId, Integer page, Integer size) {
         Pageable pageable = PageRequest.of(page, size);
         List<RelationshipModel> following = relationshipRepository.getFollowingByUserIdPaginated(userId, pageable);
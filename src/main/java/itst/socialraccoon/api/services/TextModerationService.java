@@ -0,0 +1,83 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.utils.AhoCorasickAutomaton;
+import itst.socialraccoon.api.utils.TextNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class TextModerationService {
+
+    private final AhoCorasickAutomaton automaton;
+
+    @Autowired
+    public TextModerationService(
+            @Value("${moderation.text.blocklist}") Resource blocklist,
+            @Value("${moderation.text.extra-terms:}") List<String> extraTerms) {
+        List<String> terms = readTerms(blocklist);
+        terms.addAll(extraTerms);
+        this.automaton = buildAutomaton(terms);
+    }
+
+    TextModerationService(Collection<String> terms) {
+        this.automaton = buildAutomaton(terms);
+    }
+
+    public boolean isTextSafe(String text) {
+        return findBlockedTerm(text) == null;
+    }
+
+    /**
+     * Returns the normalized blocklist entry found in the text, or {@code null} if the text is clean.
+     */
+    public String findBlockedTerm(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String match = automaton.findFirst(TextNormalizer.normalizeForModeration(text));
+        return match == null ? null : match.trim();
+    }
+
+    public int getBlocklistSize() {
+        return automaton.size();
+    }
+
+    private static AhoCorasickAutomaton buildAutomaton(Collection<String> terms) {
+        List<String> patterns = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            String normalized = TextNormalizer.normalizeForModeration(term);
+            if (!normalized.isBlank()) {
+                patterns.add(normalized);
+            }
+        }
+        return AhoCorasickAutomaton.build(patterns);
+    }
+
+    private static List<String> readTerms(Resource blocklist) {
+        List<String> terms = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(blocklist.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    terms.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the text moderation blocklist", e);
+        }
+        return terms;
+    }
+}
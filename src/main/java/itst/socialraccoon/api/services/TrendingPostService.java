@@ -0,0 +1,133 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.PostModel;
+import itst.socialraccoon.api.repositories.CommentRepository;
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.repositories.ReactionRepository;
+import itst.socialraccoon.api.repositories.projections.PostActivityProjection;
+import itst.socialraccoon.api.utils.DecayedTopK;
+import itst.socialraccoon.api.utils.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * "Popular on campus now": posts ranked by reactions and comments, each worth half as much every half-life.
+ * Scores are updated as reactions and comments are committed; the database is only read once at startup
+ * to recover the recent activity.
+ */
+@Service
+public class TrendingPostService {
+
+    private static final LocalDateTime HOUR_ORIGIN = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final int WARM_UP_HALF_LIVES = 8;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final DecayedTopK ranking;
+    private final Duration halfLife;
+    private final double reactionWeight;
+    private final double commentWeight;
+    private final Clock clock;
+
+    @Autowired
+    public TrendingPostService(
+            @Value("${trending.posts.half-life:PT6H}") Duration halfLife,
+            @Value("${trending.posts.capacity:1000}") int capacity,
+            @Value("${trending.posts.reaction-weight:1.0}") double reactionWeight,
+            @Value("${trending.posts.comment-weight:3.0}") double commentWeight) {
+        this(halfLife, capacity, reactionWeight, commentWeight, Clock.systemDefaultZone());
+    }
+
+    TrendingPostService(Duration halfLife, int capacity, double reactionWeight, double commentWeight, Clock clock) {
+        this.halfLife = halfLife;
+        this.reactionWeight = reactionWeight;
+        this.commentWeight = commentWeight;
+        this.clock = clock;
+        this.ranking = new DecayedTopK(halfLife, capacity, clock.millis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now(clock).minus(halfLife.multipliedBy(WARM_UP_HALF_LIVES));
+        addActivity(reactionRepository.getHourlyReactionCountsSince(since), reactionWeight);
+        addActivity(commentRepository.getHourlyCommentCountsSince(since), commentWeight);
+    }
+
+    public Page<PostModel> getTrending(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // page * size would wrap around to a negative offset
+        if ((long) page * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("page is too large");
+        }
+        List<Integer> postIds = ranking.page(page * size, size);
+        return new PageImpl<>(postRepository.findAllByIdInOrder(postIds), PageRequest.of(page, size), ranking.size());
+    }
+
+    public double getScore(Integer postId) {
+        return ranking.score(postId, clock.millis());
+    }
+
+    public void reactionAdded(Integer postId) {
+        record(postId, reactionWeight, clock.millis());
+    }
+
+    public void reactionRemoved(Integer postId, LocalDateTime reactedAt) {
+        record(postId, -reactionWeight, toMillis(reactedAt));
+    }
+
+    public void commentAdded(Integer postId) {
+        record(postId, commentWeight, clock.millis());
+    }
+
+    public void commentRemoved(Integer postId, LocalDateTime commentedAt) {
+        record(postId, -commentWeight, toMillis(commentedAt));
+    }
+
+    public void postDeleted(Integer postId) {
+        TransactionCallbacks.afterCommit(() -> ranking.remove(postId));
+    }
+
+    private void record(Integer postId, double weight, long atMillis) {
+        if (postId != null) {
+            TransactionCallbacks.afterCommit(() -> ranking.add(postId, weight, atMillis));
+        }
+    }
+
+    private void addActivity(List<PostActivityProjection> activity, double weight) {
+        for (PostActivityProjection row : activity) {
+            // Counted at the middle of the hour they happened in
+            long atMillis = toMillis(HOUR_ORIGIN.plusHours(row.getHour()).plusMinutes(30));
+            ranking.add(row.getIdPost(), weight * row.getTotal(), atMillis);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return clock.millis();
+        }
+        ZoneId zone = clock.getZone();
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+}
@@ -5,7 +5,6 @@ import itst.socialraccoon.api.models.ProfileModel;
 import itst.socialraccoon.api.models.UserModel;
 import itst.socialraccoon.api.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -13,7 +12,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Set;
 
 @Service
@@ -29,11 +27,13 @@ public class UserService {
     private ImageProfileService imageProfileService;
 
     @Autowired
-    @Lazy
-    private ReactionService reactionService;
+    private ProfileService profileService;
 
     @Autowired
-    private ProfileService profileService;
+    private EntityLoaderService entityLoaderService;
+
+    @Autowired
+    private DeletionJobService deletionJobService;
 
     private final String defaultProfileImageUrl = "https://firebasestorage.googleapis.com/v0/b/socialraccoon-990a3.appspot.com/o/user.png?alt=media&token=c303a942-13e8-4758-a578-e5b6e70400a1";
 
@@ -42,7 +42,7 @@ public class UserService {
     }
 
     public UserModel findById(Integer id) {
-        return userRepository.findById(id).orElseThrow(() -> new NoSuchElementException("User not found"));
+        return entityLoaderService.getUser(id);
     }
 
     @Transactional
@@ -103,10 +103,7 @@ public class UserService {
     }
 
     public Boolean deleteProfileImage(Integer userId) {
-        UserModel user = findById(userId);
-        if (user == null) {
-            throw new NoSuchElementException("User not found");
-        }
+        findById(userId);
         ImageProfileModel imageProfile = imageProfileService.getImageProfileByUserId(userId);
         if (imageProfile.getImageUrl().equals(defaultProfileImageUrl)) {
             throw new IllegalArgumentException("The user has the default profile image");
@@ -122,17 +119,16 @@ public class UserService {
     }
 
 
+    /**
+     * Signs the user out and hides them right away; their posts, reactions and profile are purged in the background.
+     */
     @Transactional
     public void deleteUser(Integer userId) {
-        UserModel user = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("User not found"));
-        reactionService.deleteByUserId(user);
-        userRepository.delete(user);
+        deletionJobService.deleteUser(findById(userId));
     }
 
+    @Transactional
     public void deleteById(Integer id) {
-        if (!userRepository.existsById(id)) {
-            throw new NoSuchElementException("User not found");
-        }
-        userRepository.deleteById(id);
+        deleteUser(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over the alphabet produced by {@link TextNormalizer#normalizeForModeration(String)}:
+ * the letters a-z plus a space, any other character is read as a space. The failure links are folded into a
+ * complete transition table when the automaton is built, so scanning a text is one array lookup per character
+ * and the instance is immutable and safe to share between threads.
+ */
+public final class AhoCorasickAutomaton {
+
+    private static final int ALPHABET_SIZE = 27;
+    private static final int SEPARATOR = 26;
+    private static final int NO_MATCH = -1;
+
+    private final int[] transitions;
+    private final int[] matches;
+    private final List<String> patterns;
+
+    private AhoCorasickAutomaton(int[] transitions, int[] matches, List<String> patterns) {
+        this.transitions = transitions;
+        this.matches = matches;
+        this.patterns = patterns;
+    }
+
+    public static AhoCorasickAutomaton build(Collection<String> patterns) {
+        List<String> accepted = new ArrayList<>();
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> output = new ArrayList<>();
+        trie.add(newNode());
+        output.add(NO_MATCH);
+
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isBlank()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int symbol = symbolOf(pattern.charAt(i));
+                int next = trie.get(state)[symbol];
+                if (next == NO_MATCH) {
+                    next = trie.size();
+                    trie.add(newNode());
+                    output.add(NO_MATCH);
+                    trie.get(state)[symbol] = next;
+                }
+                state = next;
+            }
+            if (output.get(state) == NO_MATCH) {
+                output.set(state, accepted.size());
+                accepted.add(pattern);
+            }
+        }
+
+        int states = trie.size();
+        int[] transitions = new int[states * ALPHABET_SIZE];
+        int[] matches = new int[states];
+        int[] failure = new int[states];
+        for (int state = 0; state < states; state++) {
+            matches[state] = output.get(state);
+        }
+
+        // Breadth-first pass: a state's failure target is always shallower, so its row is already complete
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+            int child = trie.get(0)[symbol];
+            if (child == NO_MATCH) {
+                transitions[symbol] = 0;
+            } else {
+                transitions[symbol] = child;
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fail = failure[state];
+            if (matches[state] == NO_MATCH) {
+                matches[state] = matches[fail];
+            }
+            for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                int child = trie.get(state)[symbol];
+                if (child == NO_MATCH) {
+                    transitions[state * ALPHABET_SIZE + symbol] = transitions[fail * ALPHABET_SIZE + symbol];
+                } else {
+                    transitions[state * ALPHABET_SIZE + symbol] = child;
+                    failure[child] = transitions[fail * ALPHABET_SIZE + symbol];
+                    queue.add(child);
+                }
+            }
+        }
+        return new AhoCorasickAutomaton(transitions, matches, List.copyOf(accepted));
+    }
+
+    /**
+     * Returns the first pattern found in the text, or {@code null} when none of them occurs.
+     */
+    public String findFirst(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * ALPHABET_SIZE + symbolOf(text.charAt(i))];
+            if (matches[state] != NO_MATCH) {
+                return patterns.get(matches[state]);
+            }
+        }
+        return null;
+    }
+
+    public boolean containsAny(CharSequence text) {
+        return findFirst(text) != null;
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    private static int[] newNode() {
+        int[] node = new int[ALPHABET_SIZE];
+        Arrays.fill(node, NO_MATCH);
+        return node;
+    }
+
+    private static int symbolOf(char c) {
+        return c >= 'a' && c <= 'z' ? c - 'a' : SEPARATOR;
+    }
+}
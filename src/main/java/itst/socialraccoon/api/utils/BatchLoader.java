@@ -0,0 +1,70 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Collects the keys a page needs while it is being assembled and loads all of them with one call to the batch
+ * function the first time any of them is read, in the way of DataLoader. Loaded values are kept, so a key asked
+ * for again is answered from memory, and keys the batch function leaves out get the {@code missing} value.
+ * <p>
+ * Not thread-safe: an instance belongs to a single request.
+ */
+public final class BatchLoader<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> batchFunction;
+    private final V missing;
+    private final Map<K, V> loaded = new HashMap<>();
+    private final Set<K> pending = new LinkedHashSet<>();
+    private int batchCount;
+
+    public BatchLoader(Function<Set<K>, Map<K, V>> batchFunction, V missing) {
+        this.batchFunction = batchFunction;
+        this.missing = missing;
+    }
+
+    /**
+     * Queues the key for the next batch unless its value is already loaded.
+     */
+    public void load(K key) {
+        if (!loaded.containsKey(key)) {
+            pending.add(key);
+        }
+    }
+
+    public void loadAll(Collection<? extends K> keys) {
+        keys.forEach(this::load);
+    }
+
+    /**
+     * Returns the value of the key, loading it together with every queued key when it is not loaded yet.
+     */
+    public V get(K key) {
+        if (!loaded.containsKey(key)) {
+            pending.add(key);
+            dispatch();
+        }
+        return loaded.get(key);
+    }
+
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<K> keys = new LinkedHashSet<>(pending);
+        pending.clear();
+        Map<K, V> values = batchFunction.apply(keys);
+        batchCount++;
+        for (K key : keys) {
+            loaded.put(key, values.getOrDefault(key, missing));
+        }
+    }
+
+    public int getBatchCount() {
+        return batchCount;
+    }
+}
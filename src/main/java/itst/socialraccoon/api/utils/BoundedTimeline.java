@@ -0,0 +1,70 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The {@code capacity} most recent ids, newest first. Adding an id older than everything in a full timeline is
+ * a no-op, so the timeline can be filled from the database and from live updates in any order.
+ */
+public final class BoundedTimeline {
+
+    private final int capacity;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> timeline = new TreeSet<>(
+            Comparator.comparingLong(Entry::time).thenComparingInt(Entry::id).reversed());
+
+    public BoundedTimeline(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void add(int id, long time) {
+        Entry entry = new Entry(id, time);
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            timeline.remove(previous);
+        }
+        if (entries.size() >= capacity) {
+            Entry oldest = timeline.last();
+            if (timeline.comparator().compare(entry, oldest) > 0) {
+                return;
+            }
+            timeline.pollLast();
+            entries.remove(oldest.id());
+        }
+        entries.put(id, entry);
+        timeline.add(entry);
+    }
+
+    public synchronized boolean remove(int id) {
+        Entry entry = entries.remove(id);
+        return entry != null && timeline.remove(entry);
+    }
+
+    /**
+     * Returns the ids at positions {@code offset} to {@code offset + limit - 1}, newest first.
+     */
+    public synchronized List<Integer> page(int offset, int limit) {
+        List<Integer> ids = new ArrayList<>(limit);
+        Iterator<Entry> iterator = timeline.iterator();
+        for (int i = 0; iterator.hasNext() && ids.size() < limit; i++) {
+            Entry entry = iterator.next();
+            if (i >= offset) {
+                ids.add(entry.id());
+            }
+        }
+        return ids;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(int id, long time) {
+    }
+}
@@ -0,0 +1,44 @@
+package itst.socialraccoon.api.utils;
+
+import itst.socialraccoon.api.services.AuthenticationCacheService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Remembers successful {@link #matches} results so a client repeating the same Basic header pays for BCrypt
+ * once per cache lifetime instead of on every request. Failed checks always go to the delegate.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AuthenticationCacheService cache;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, AuthenticationCacheService cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        if (cache.isVerified(rawPassword, encodedPassword)) {
+            return true;
+        }
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            cache.markVerified(rawPassword, encodedPassword);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,69 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.Arrays;
+
+/**
+ * Strictly increasing list of non-negative ints stored as variable-length encoded gaps. Ids that are close
+ * together take a single byte each, so a posting list costs a fraction of an {@code int[]} of the same size.
+ * Not thread-safe; {@link PostSearchIndex} guards all access.
+ */
+public final class CompressedPostingList {
+
+    private byte[] data = new byte[4];
+    private int length;
+    private int count;
+    private int last = -1;
+
+    /**
+     * Appends the value, which must be greater than every value already in the list.
+     */
+    public void add(int value) {
+        if (value <= last) {
+            throw new IllegalArgumentException("Postings must be added in increasing order");
+        }
+        int gap = value - last;
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((gap & ~0x7F) != 0) {
+            data[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        data[length++] = (byte) gap;
+        last = value;
+        count++;
+    }
+
+    public int[] toArray() {
+        int[] values = new int[count];
+        int position = 0;
+        int value = -1;
+        for (int i = 0; i < count; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+            values[i] = value;
+        }
+        return values;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int sizeInBytes() {
+        return length;
+    }
+
+    public void trimToSize() {
+        if (data.length != length) {
+            data = Arrays.copyOf(data, length);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package itst.socialraccoon.api.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Count-min sketch: approximate counts for an unbounded set of keys in fixed memory. Estimates never
+ * undercount and overcount by at most {@code 2 * total / width} with probability {@code 1 - 2^-depth}.
+ * Not thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int[] counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (Integer.bitCount(width) != 1 || depth <= 0) {
+            throw new IllegalArgumentException("width must be a power of two and depth positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new int[width * depth];
+    }
+
+    public void add(long hash, int count) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + index(h1, h2, row)] += count;
+        }
+    }
+
+    public int estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + index(h1, h2, row)]);
+        }
+        return min;
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    private int index(int h1, int h2, int row) {
+        return (h1 + row * h2) & (width - 1);
+    }
+
+    /**
+     * 64-bit FNV-1a hash with a final mix, split into the two halves used for double hashing.
+     */
+    public static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        // An odd second half makes every row step to a different column of a power-of-two width
+        return hash | 1L << 32;
+    }
+}
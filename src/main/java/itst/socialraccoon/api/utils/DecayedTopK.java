@@ -0,0 +1,122 @@
+package itst.socialraccoon.api.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps the {@code capacity} ids with the highest exponentially decayed score. Scores use forward decay: an
+ * event of weight {@code w} at time {@code t} adds {@code w * 2^((t - landmark) / halfLife)}, so existing scores
+ * never have to be decayed and their order does not change as time passes; only new events move an id. The
+ * landmark is moved forward now and then to keep the numbers in range.
+ */
+public final class DecayedTopK {
+
+    // 2^60 is far below the double range and leaves room for a lot of weight before rescaling
+    private static final double MAX_EXPONENT = 60;
+
+    private final double halfLifeMillis;
+    private final int capacity;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(
+            Comparator.comparingDouble((Entry entry) -> entry.score).reversed().thenComparingInt(entry -> entry.id));
+    private long landmarkMillis;
+
+    public DecayedTopK(Duration halfLife, int capacity, long nowMillis) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.capacity = capacity;
+        this.landmarkMillis = nowMillis;
+    }
+
+    /**
+     * Adds the weight of an event that happened at {@code atMillis}. A negative weight takes back an earlier
+     * event, e.g. a deleted reaction, when given the time of that event.
+     */
+    public synchronized void add(int id, double weight, long atMillis) {
+        double exponent = (atMillis - landmarkMillis) / halfLifeMillis;
+        if (exponent > MAX_EXPONENT) {
+            rescale(atMillis);
+            exponent = 0;
+        }
+        double delta = weight * Math.pow(2, exponent);
+        Entry entry = entries.remove(id);
+        double score = delta;
+        if (entry != null) {
+            ranking.remove(entry);
+            score += entry.score;
+        }
+        if (score <= 0) {
+            return;
+        }
+        Entry updated = new Entry(id, score);
+        if (entries.size() >= capacity) {
+            Entry lowest = ranking.last();
+            if (ranking.comparator().compare(updated, lowest) > 0) {
+                return;
+            }
+            ranking.pollLast();
+            entries.remove(lowest.id);
+        }
+        entries.put(id, updated);
+        ranking.add(updated);
+    }
+
+    public synchronized void remove(int id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            ranking.remove(entry);
+        }
+    }
+
+    /**
+     * Returns the ids ranked {@code offset} to {@code offset + limit - 1}, highest score first.
+     */
+    public synchronized List<Integer> page(int offset, int limit) {
+        List<Integer> ids = new ArrayList<>(limit);
+        Iterator<Entry> iterator = ranking.iterator();
+        for (int i = 0; iterator.hasNext() && ids.size() < limit; i++) {
+            Entry entry = iterator.next();
+            if (i >= offset) {
+                ids.add(entry.id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the score of the id decayed to {@code nowMillis}, or 0 when it is not tracked.
+     */
+    public synchronized double score(int id, long nowMillis) {
+        Entry entry = entries.get(id);
+        return entry == null ? 0 : entry.score * Math.pow(2, (landmarkMillis - nowMillis) / halfLifeMillis);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void rescale(long newLandmarkMillis) {
+        double factor = Math.pow(2, (landmarkMillis - newLandmarkMillis) / halfLifeMillis);
+        landmarkMillis = newLandmarkMillis;
+        List<Entry> rescaled = new ArrayList<>(entries.size());
+        for (Entry entry : ranking) {
+            rescaled.add(new Entry(entry.id, entry.score * factor));
+        }
+        entries.clear();
+        ranking.clear();
+        for (Entry entry : rescaled) {
+            if (entry.score > 0) {
+                entries.put(entry.id, entry);
+                ranking.add(entry);
+            }
+        }
+    }
+
+    private record Entry(int id, double score) {
+    }
+}
@@ -0,0 +1,136 @@
+package itst.socialraccoon.api.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small LRU cache whose entries also expire a fixed time after they were stored. Lookups hold the lock only for
+ * the map access; values are loaded outside of it, so a slow loader never blocks readers of other keys. A value
+ * whose load overlapped an invalidation is returned to its caller but not stored, since it may predate the change
+ * that caused the invalidation.
+ */
+public final class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final Map<K, Entry<V>> entries;
+    // Bumped by every invalidation, guarded by the entries lock
+    private long version;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(int maxSize, Duration timeToLive) {
+        this(maxSize, timeToLive, System::nanoTime);
+    }
+
+    public ExpiringCache(int maxSize, Duration timeToLive, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key) {
+        long now = nanoClock.getAsLong();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.expiresAt < 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the cached value or loads, stores and returns it. {@code null} results are not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            long loadVersion;
+            synchronized (entries) {
+                loadVersion = version;
+            }
+            value = loader.apply(key);
+            if (value != null) {
+                putIfUnchanged(key, value, loadVersion);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, nanoClock.getAsLong() + timeToLiveNanos);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            version++;
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            version++;
+            entries.clear();
+        }
+    }
+
+    private void putIfUnchanged(K key, V value, long loadVersion) {
+        Entry<V> entry = new Entry<>(value, nanoClock.getAsLong() + timeToLiveNanos);
+        synchronized (entries) {
+            if (version == loadVersion) {
+                entries.put(key, entry);
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
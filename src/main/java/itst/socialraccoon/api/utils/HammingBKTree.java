@@ -0,0 +1,99 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * BK-tree over 64-bit hashes using the Hamming distance. A lookup only descends into children whose edge
+ * distance is within {@code radius} of the distance to the current node, which prunes most of the tree for
+ * small radii. Reads run in parallel, inserts take a short write lock.
+ */
+public final class HammingBKTree {
+
+    private static final int MAX_DISTANCE = Long.SIZE;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+    private int size;
+
+    /**
+     * Adds the hash to the tree. Returns {@code false} if it was already present.
+     */
+    public boolean add(long hash) {
+        lock.writeLock().lock();
+        try {
+            if (root == null) {
+                root = new Node(hash);
+                size++;
+                return true;
+            }
+            Node node = root;
+            while (true) {
+                int distance = PerceptualHash.distance(node.hash, hash);
+                if (distance == 0) {
+                    return false;
+                }
+                Node child = node.children[distance];
+                if (child == null) {
+                    node.children[distance] = new Node(hash);
+                    size++;
+                    return true;
+                }
+                node = child;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns {@code true} if some hash in the tree is at most {@code radius} bits away from {@code hash}.
+     */
+    public boolean containsWithin(long hash, int radius) {
+        lock.readLock().lock();
+        try {
+            if (root == null) {
+                return false;
+            }
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                int distance = PerceptualHash.distance(node.hash, hash);
+                if (distance <= radius) {
+                    return true;
+                }
+                int from = Math.max(1, distance - radius);
+                int to = Math.min(MAX_DISTANCE, distance + radius);
+                for (int d = from; d <= to; d++) {
+                    if (node.children[d] != null) {
+                        pending.push(node.children[d]);
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Node {
+        private final long hash;
+        private final Node[] children = new Node[MAX_DISTANCE + 1];
+
+        private Node(long hash) {
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class HashtagExtractor {
+
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_#@])#([\\p{L}\\p{N}_]{1,50})");
+
+    private HashtagExtractor() {
+    }
+
+    /**
+     * Returns the distinct hashtags of the text without the '#', lower-cased and without accents,
+     * so "#Becas", "#becas" and "#BECAS" count as the same tag. Tags made only of digits are ignored.
+     */
+    public static Set<String> extract(String text) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (text == null || text.indexOf('#') < 0) {
+            return tags;
+        }
+        Matcher matcher = HASHTAG.matcher(text);
+        while (matcher.find()) {
+            String tag = TextNormalizer.foldAccents(matcher.group(1));
+            if (!tag.chars().allMatch(Character::isDigit)) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,36 @@
+package itst.socialraccoon.api.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Opaque position in a listing ordered by {@code (date, id)}: the key of the last row the client has seen.
+ */
+public record KeysetCursor(LocalDateTime date, Integer id) {
+
+    public String encode() {
+        String raw = date.toEpochSecond(ZoneOffset.UTC) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a missing cursor (first page) and throws {@link IllegalArgumentException}
+     * for one that was not produced by {@link #encode()}.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long epochSecond = Long.parseLong(raw.substring(0, separator));
+            int id = Integer.parseInt(raw.substring(separator + 1));
+            return new KeysetCursor(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
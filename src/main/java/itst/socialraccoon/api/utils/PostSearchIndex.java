@@ -0,0 +1,300 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over post descriptions and comments. Every indexed text gets a new, increasing ordinal, so
+ * postings are always appended and compress well as small gaps. Re-indexing or removing a text does not touch
+ * the postings: the old ordinal simply stops being the current one for its post or comment and is skipped by
+ * searches until the next compaction drops it.
+ */
+public final class PostSearchIndex {
+
+    private static final int NONE = 0;
+    private static final int DELETED = -1;
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MIN_COMPACTION_DEAD = 1_024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, CompressedPostingList> postings = new TreeMap<>();
+
+    // ordinal -> post id and comment id (0 for the description)
+    private int[] ordinalPost = new int[1_024];
+    private int[] ordinalComment = new int[1_024];
+    private int nextOrdinal = 1;
+    private int deadOrdinals;
+
+    // post id -> ordinal of its description, comment id -> ordinal of the comment
+    private int[] descriptionOrdinals = new int[1_024];
+    private int[] commentOrdinals = new int[1_024];
+
+    public void indexDescription(int postId, String description) {
+        index(postId, NONE, description, false);
+    }
+
+    public void indexComment(int commentId, int postId, String comment) {
+        index(postId, commentId, comment, false);
+    }
+
+    /**
+     * Used by the initial build: skips texts that were already indexed or removed by a live update meanwhile.
+     */
+    public void indexDescriptionIfAbsent(int postId, String description) {
+        index(postId, NONE, description, true);
+    }
+
+    public void indexCommentIfAbsent(int commentId, int postId, String comment) {
+        index(postId, commentId, comment, true);
+    }
+
+    public void removePost(int postId) {
+        lock.writeLock().lock();
+        try {
+            descriptionOrdinals = ensureCapacity(descriptionOrdinals, postId);
+            if (descriptionOrdinals[postId] > NONE) {
+                deadOrdinals++;
+            }
+            descriptionOrdinals[postId] = DELETED;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeComment(int commentId) {
+        lock.writeLock().lock();
+        try {
+            commentOrdinals = ensureCapacity(commentOrdinals, commentId);
+            if (commentOrdinals[commentId] > NONE) {
+                deadOrdinals++;
+            }
+            commentOrdinals[commentId] = DELETED;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the posts whose description or one of whose comments contains every query term,
+     * newest post first. The last term also matches as a prefix, so results appear while the user types; a short
+     * prefix is expanded only to its {@value #MAX_PREFIX_TERMS} most frequent completions, so posts that match
+     * only through a rarer one are missing until the user types more.
+     */
+    public int[] search(String query) {
+        List<String> terms = SpanishAnalyzer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            List<int[]> lists = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size() - 1; i++) {
+                CompressedPostingList list = postings.get(terms.get(i));
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list.toArray());
+            }
+            int[] last = prefixPostings(terms.get(terms.size() - 1));
+            if (last.length == 0) {
+                return new int[0];
+            }
+            lists.add(last);
+            lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+            int[] matches = lists.get(0);
+            for (int i = 1; i < lists.size() && matches.length > 0; i++) {
+                matches = intersect(matches, lists.get(i));
+            }
+            return toPostIds(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (CompressedPostingList list : postings.values()) {
+                bytes += list.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(int postId, int commentId, String text, boolean onlyIfAbsent) {
+        List<String> terms = SpanishAnalyzer.terms(text);
+        lock.writeLock().lock();
+        try {
+            descriptionOrdinals = ensureCapacity(descriptionOrdinals, postId);
+            if (descriptionOrdinals[postId] == DELETED) {
+                return;
+            }
+            int[] current = commentId == NONE ? descriptionOrdinals : (commentOrdinals = ensureCapacity(commentOrdinals, commentId));
+            int key = commentId == NONE ? postId : commentId;
+            if (current[key] == DELETED || (onlyIfAbsent && current[key] != NONE)) {
+                return;
+            }
+            if (current[key] > NONE) {
+                deadOrdinals++;
+            }
+            if (terms.isEmpty()) {
+                current[key] = NONE;
+                return;
+            }
+            int ordinal = nextOrdinal++;
+            ordinalPost = ensureCapacity(ordinalPost, ordinal);
+            ordinalComment = ensureCapacity(ordinalComment, ordinal);
+            ordinalPost[ordinal] = postId;
+            ordinalComment[ordinal] = commentId;
+            current[key] = ordinal;
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new CompressedPostingList()).add(ordinal);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int[] prefixPostings(String prefix) {
+        List<int[]> lists = new ArrayList<>();
+        String singular = SpanishAnalyzer.singular(prefix);
+        CompressedPostingList exact = postings.get(singular);
+        if (exact != null && !singular.equals(prefix)) {
+            lists.add(exact.toArray());
+        }
+        // Keeps the most frequent completions, which are the ones the user most likely means
+        PriorityQueue<CompressedPostingList> expansion = new PriorityQueue<>(
+                (a, b) -> Integer.compare(a.size(), b.size()));
+        for (CompressedPostingList list : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            expansion.add(list);
+            if (expansion.size() > MAX_PREFIX_TERMS) {
+                expansion.poll();
+            }
+        }
+        for (CompressedPostingList list : expansion) {
+            lists.add(list.toArray());
+        }
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        int total = 0;
+        for (int[] list : lists) {
+            total += list.length;
+        }
+        int[] union = new int[total];
+        int position = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, union, position, list.length);
+            position += list.length;
+        }
+        Arrays.sort(union);
+        int distinct = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (i == 0 || union[i] != union[i - 1]) {
+                union[distinct++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, distinct);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private int[] toPostIds(int[] ordinals) {
+        int[] postIds = new int[ordinals.length];
+        int n = 0;
+        for (int ordinal : ordinals) {
+            if (isCurrent(ordinal)) {
+                postIds[n++] = ordinalPost[ordinal];
+            }
+        }
+        Arrays.sort(postIds, 0, n);
+        int[] result = new int[n];
+        int distinct = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            if (distinct == 0 || result[distinct - 1] != postIds[i]) {
+                result[distinct++] = postIds[i];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    private boolean isCurrent(int ordinal) {
+        int postId = ordinalPost[ordinal];
+        int commentId = ordinalComment[ordinal];
+        if (descriptionOrdinals[postId] == DELETED) {
+            return false;
+        }
+        return commentId == NONE ? descriptionOrdinals[postId] == ordinal : commentOrdinals[commentId] == ordinal;
+    }
+
+    private void compactIfNeeded() {
+        if (deadOrdinals < MIN_COMPACTION_DEAD || deadOrdinals < (nextOrdinal - 1) / 2) {
+            return;
+        }
+        Iterator<Map.Entry<String, CompressedPostingList>> entries = postings.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, CompressedPostingList> entry = entries.next();
+            CompressedPostingList compacted = new CompressedPostingList();
+            for (int ordinal : entry.getValue().toArray()) {
+                if (isCurrent(ordinal)) {
+                    compacted.add(ordinal);
+                }
+            }
+            if (compacted.size() == 0) {
+                entries.remove();
+            } else {
+                compacted.trimToSize();
+                entry.setValue(compacted);
+            }
+        }
+        deadOrdinals = 0;
+    }
+
+    private static int[] ensureCapacity(int[] array, int index) {
+        if (index < array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(array.length * 2, index + 1));
+    }
+}
@@ -0,0 +1,24 @@
+package itst.socialraccoon.api.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public final class RequestIdentity {
+
+    private RequestIdentity() {
+    }
+
+    /**
+     * Returns the email of the authenticated user, or the client address for anonymous requests.
+     */
+    public static String resolve(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
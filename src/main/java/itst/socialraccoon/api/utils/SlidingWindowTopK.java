@@ -0,0 +1,101 @@
+package itst.socialraccoon.api.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Approximate most frequent keys over a sliding time window. The window is a ring of time buckets, each with its
+ * own {@link CountMinSketch} and a small set of heavy-hitter candidates, so memory is fixed no matter how many
+ * distinct keys arrive and old counts fall out of the window one bucket at a time.
+ */
+public final class SlidingWindowTopK {
+
+    private final long bucketMillis;
+    private final int candidatesPerBucket;
+    private final Bucket[] buckets;
+
+    public SlidingWindowTopK(Duration window, int bucketCount, int sketchWidth, int sketchDepth, int candidatesPerBucket) {
+        this.bucketMillis = window.toMillis() / bucketCount;
+        this.candidatesPerBucket = candidatesPerBucket;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(new CountMinSketch(sketchWidth, sketchDepth));
+        }
+    }
+
+    public synchronized void add(String key, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        if (bucket.epoch != epoch) {
+            bucket.reset(epoch);
+        }
+        long hash = CountMinSketch.hash(key);
+        bucket.sketch.add(hash, 1);
+        bucket.candidates.put(key, bucket.sketch.estimate(hash));
+        if (bucket.candidates.size() > candidatesPerBucket) {
+            String smallest = null;
+            int smallestCount = Integer.MAX_VALUE;
+            for (Map.Entry<String, Integer> candidate : bucket.candidates.entrySet()) {
+                if (candidate.getValue() < smallestCount) {
+                    smallest = candidate.getKey();
+                    smallestCount = candidate.getValue();
+                }
+            }
+            bucket.candidates.remove(smallest);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} keys with their estimated count over the window, highest first.
+     */
+    public synchronized List<Map.Entry<String, Integer>> top(int limit, long nowMillis) {
+        long currentEpoch = nowMillis / bucketMillis;
+        List<Bucket> live = new ArrayList<>(buckets.length);
+        Set<String> candidates = new HashSet<>();
+        for (Bucket bucket : buckets) {
+            if (bucket.epoch > currentEpoch - buckets.length && bucket.epoch <= currentEpoch) {
+                live.add(bucket);
+                candidates.addAll(bucket.candidates.keySet());
+            }
+        }
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        for (String candidate : candidates) {
+            long hash = CountMinSketch.hash(candidate);
+            int count = 0;
+            for (Bucket bucket : live) {
+                count += bucket.sketch.estimate(hash);
+            }
+            heap.add(Map.entry(candidate, count));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<String, Integer>> result = new ArrayList<>(heap);
+        result.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return result;
+    }
+
+    private static final class Bucket {
+        private final CountMinSketch sketch;
+        private final Map<String, Integer> candidates = new HashMap<>();
+        private long epoch = Long.MIN_VALUE;
+
+        private Bucket(CountMinSketch sketch) {
+            this.sketch = sketch;
+        }
+
+        private void reset(long epoch) {
+            this.epoch = epoch;
+            sketch.clear();
+            candidates.clear();
+        }
+    }
+}
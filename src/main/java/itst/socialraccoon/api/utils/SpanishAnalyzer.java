@@ -0,0 +1,92 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns Spanish text into search terms: accents folded with {@link TextNormalizer#foldAccents(String)}, split on
+ * anything that is not a letter or digit, stop words dropped and plurals reduced to the singular
+ * ("camiones" -> "camion", "luces" -> "luz"), so that the same form is produced for documents and queries.
+ */
+public final class SpanishAnalyzer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "algo", "ante", "aqui", "asi", "con", "como", "cual", "de", "del", "desde", "donde", "el",
+            "ella", "ellos", "en", "entre", "era", "es", "esa", "ese", "eso", "esta", "este", "esto", "fue", "ha",
+            "hay", "la", "las", "le", "les", "lo", "los", "mas", "me", "mi", "mis", "muy", "ni", "no", "nos", "o",
+            "para", "pero", "por", "que", "se", "si", "sin", "sobre", "su", "sus", "te", "tu", "tus", "un", "una",
+            "uno", "unos", "unas", "y", "ya", "yo"
+    );
+
+    private SpanishAnalyzer() {
+    }
+
+    /**
+     * Returns the distinct terms of the text in the order they first appear.
+     */
+    public static List<String> terms(String text) {
+        return new ArrayList<>(termSet(text, false));
+    }
+
+    /**
+     * Like {@link #terms(String)} but keeps the last word as typed, even when it is short or a stop word, and
+     * unstemmed, since while the user is still typing it is used as a prefix ("cami" must not be dropped or cut).
+     */
+    public static List<String> queryTerms(String query) {
+        return new ArrayList<>(termSet(query, true));
+    }
+
+    private static Set<String> termSet(String text, boolean query) {
+        Set<String> terms = new LinkedHashSet<>();
+        String folded = TextNormalizer.foldAccents(text);
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(folded.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+                start = -1;
+            }
+        }
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean last = i == words.size() - 1;
+            if (query && last) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            } else if (word.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(word)) {
+                terms.add(singular(word));
+            }
+        }
+        return terms;
+    }
+
+    static String singular(String word) {
+        int length = word.length();
+        if (length <= 3 || word.charAt(length - 1) != 's') {
+            return word;
+        }
+        if (word.endsWith("ces")) {
+            return word.substring(0, length - 3) + "z";
+        }
+        if (word.endsWith("es") && length > 4 && !isVowel(word.charAt(length - 3))) {
+            return word.substring(0, length - 2);
+        }
+        if (isVowel(word.charAt(length - 2))) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -0,0 +1,110 @@
+package itst.socialraccoon.api.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+public final class TextNormalizer {
+
+    private static final Locale SPANISH = Locale.forLanguageTag("es-MX");
+    // Folding for U+00E0..U+00FF; 0 marks characters that are left to java.text.Normalizer
+    private static final String LATIN1_FOLDING =
+            "aaaaaa\u0000ceeeeiiii\u0000nooooo\u0000\u0000uuuuy\u0000y";
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower-cases the text and removes diacritics, so "Camión", "CAMION" and "camión" all become "camion".
+     * The "ñ" is folded to "n" as well, which is what users type when they skip accents.
+     */
+    public static String foldAccents(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(SPANISH);
+        StringBuilder sb = null;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c <= 0x7F) {
+                if (sb != null) {
+                    sb.append(c);
+                }
+                continue;
+            }
+            char folded = c >= 0xE0 && c <= 0xFF ? LATIN1_FOLDING.charAt(c - 0xE0) : 0;
+            if (folded == 0) {
+                // Outside the Latin-1 lowercase letters, let the JDK decompose the whole text
+                return stripMarks(lower);
+            }
+            if (sb == null) {
+                sb = new StringBuilder(lower.length()).append(lower, 0, i);
+            }
+            sb.append(folded);
+        }
+        return sb == null ? lower : sb.toString();
+    }
+
+    private static String stripMarks(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Normalization used for moderation: accents folded, common character substitutions undone
+     * ("p3nd3j0" -> "pendejo"), runs of three or more equal letters collapsed ("puuuta" -> "puta",
+     * while "perra" keeps its double letter) and every other character turned into a single space.
+     * The result is padded with spaces so whole words can be matched as " word ".
+     */
+    public static String normalizeForModeration(String text) {
+        String folded = foldAccents(text);
+        int length = folded.length();
+        StringBuilder sb = new StringBuilder(length + 2);
+        sb.append(' ');
+        int i = 0;
+        while (i < length) {
+            char c = substitute(folded.charAt(i));
+            int run = 1;
+            while (i + run < length && substitute(folded.charAt(i + run)) == c) {
+                run++;
+            }
+            if (c == ' ') {
+                if (sb.charAt(sb.length() - 1) != ' ') {
+                    sb.append(' ');
+                }
+            } else {
+                sb.append(c);
+                if (run == 2) {
+                    sb.append(c);
+                }
+            }
+            i += run;
+        }
+        if (sb.charAt(sb.length() - 1) != ' ') {
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static char substitute(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c;
+        }
+        return switch (c) {
+            case '0' -> 'o';
+            case '1' -> 'i';
+            case '3' -> 'e';
+            case '4', '@' -> 'a';
+            case '5', '$' -> 's';
+            case '7' -> 't';
+            default -> ' ';
+        };
+    }
+
+}
@@ -0,0 +1,49 @@
+package itst.socialraccoon.api.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens and refilling one every {@code refillNanos}.
+ * The whole state is a single "theoretical arrival time" (the GCRA form of a token bucket): the instant at
+ * which the bucket would be full again. Taking a token pushes it forward by one refill interval, with a single
+ * compare-and-set, and the request is refused if that would put it more than a full bucket ahead of now.
+ */
+public final class TokenBucket {
+
+    private final long refillNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, long refillNanos, long now) {
+        if (capacity <= 0 || refillNanos <= 0) {
+            throw new IllegalArgumentException("capacity and refill interval must be positive");
+        }
+        this.refillNanos = refillNanos;
+        this.burstNanos = refillNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token. Returns 0 when it was available, otherwise the nanoseconds until one will be.
+     */
+    public long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves exactly like a new one, so it can be dropped without changing any decision.
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import itst.socialraccoon.api.services.AzureContentModeratorService;
+import itst.socialraccoon.api.services.ImageBlocklistService;
 import itst.socialraccoon.api.exceptions.InvalidFileTypeException;
 import itst.socialraccoon.api.exceptions.InappropriateContentException;
 
@@ -15,13 +16,16 @@ public class ContentModerationValidationStrategy implements FileValidationStrate
 
     private final ImageFileValidationStrategy fileTypeValidator;
     private final AzureContentModeratorService moderatorService;
+    private final ImageBlocklistService blocklistService;
 
     @Autowired
     public ContentModerationValidationStrategy(
             ImageFileValidationStrategy fileTypeValidator,
-            AzureContentModeratorService moderatorService) {
+            AzureContentModeratorService moderatorService,
+            ImageBlocklistService blocklistService) {
         this.fileTypeValidator = fileTypeValidator;
         this.moderatorService = moderatorService;
+        this.blocklistService = blocklistService;
     }
 
     @Override
@@ -41,6 +45,7 @@ public class ContentModerationValidationStrategy implements FileValidationStrate
 
     private void validateContent(MultipartFile file) {
         if (!moderatorService.isImageSafe(file)) {
+            blocklistService.block(file);
             throw new InappropriateContentException(
                     "La imagen contiene contenido inapropiado y no puede ser procesada"
             );
@@ -1,17 +1,37 @@
 package itst.socialraccoon.api.validators;
 
-import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-@Component
-public class FileValidator {
-    private FileValidationStrategy strategy;
+import java.util.List;
 
-    public void setStrategy(FileValidationStrategy strategy) {
-        this.strategy = strategy;
+/**
+ * Immutable validation pipeline. The strategies are fixed when the validator is built and run in order,
+ * stopping at the first one that rejects the file, so a single instance can be shared between threads.
+ */
+public final class FileValidator {
+    private final List<FileValidationStrategy> strategies;
+
+    public FileValidator(List<FileValidationStrategy> strategies) {
+        if (strategies == null || strategies.isEmpty()) {
+            throw new IllegalArgumentException("A file validator needs at least one strategy");
+        }
+        this.strategies = List.copyOf(strategies);
+    }
+
+    public FileValidator(FileValidationStrategy... strategies) {
+        this(List.of(strategies));
     }
 
     public boolean validate(MultipartFile file) {
-        return strategy.isValid(file);
+        for (FileValidationStrategy strategy : strategies) {
+            if (!strategy.isValid(file)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<FileValidationStrategy> getStrategies() {
+        return strategies;
     }
-}
\ No newline at end of file
+}
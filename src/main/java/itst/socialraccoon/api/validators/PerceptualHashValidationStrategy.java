@@ -0,0 +1,33 @@
+package itst.socialraccoon.api.validators;
+
+import itst.socialraccoon.api.exceptions.InappropriateContentException;
+import itst.socialraccoon.api.services.ImageBlocklistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+@Component
+public class PerceptualHashValidationStrategy implements FileValidationStrategy {
+
+    private final ImageFileValidationStrategy fileTypeValidator;
+    private final ImageBlocklistService blocklistService;
+
+    @Autowired
+    public PerceptualHashValidationStrategy(
+            ImageFileValidationStrategy fileTypeValidator,
+            ImageBlocklistService blocklistService) {
+        this.fileTypeValidator = fileTypeValidator;
+        this.blocklistService = blocklistService;
+    }
+
+    @Override
+    public boolean isValid(MultipartFile file) {
+        // Files of the wrong type are left to the content moderation strategy, which reports the allowed types
+        if (fileTypeValidator.isValid(file) && blocklistService.isBlocked(file)) {
+            throw new InappropriateContentException(
+                    "La imagen contiene contenido inapropiado y no puede ser procesada"
+            );
+        }
+        return true;
+    }
+}
@@ -1,26 +1,26 @@
 package itst.socialraccoon.api.validators.handlers;
 
-import itst.socialraccoon.api.validators.ContentModerationValidationStrategy;
+import itst.socialraccoon.api.configuration.FileValidatorConfig;
+import itst.socialraccoon.api.exceptions.InvalidFileTypeException;
 import itst.socialraccoon.api.validators.FileValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 @Component
 public class ImageValidationHandler {
-    private final FileValidator fileValidator;
-    private final ContentModerationValidationStrategy contentModerationStrategy;
+    private final FileValidator postImageValidator;
 
     @Autowired
     public ImageValidationHandler(
-            FileValidator fileValidator,
-            ContentModerationValidationStrategy contentModerationStrategy) {
-        this.fileValidator = fileValidator;
-        this.contentModerationStrategy = contentModerationStrategy;
+            @Qualifier(FileValidatorConfig.POST_IMAGE_VALIDATOR) FileValidator postImageValidator) {
+        this.postImageValidator = postImageValidator;
     }
 
     public void validateImage(MultipartFile file) {
-        fileValidator.setStrategy(contentModerationStrategy);
-        fileValidator.validate(file);
+        if (!postImageValidator.validate(file)) {
+            throw new InvalidFileTypeException("El archivo no es una imagen válida");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package itst.socialraccoon.api.validators.handlers;
+
+import itst.socialraccoon.api.exceptions.InappropriateContentException;
+import itst.socialraccoon.api.services.TextModerationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TextValidationHandler {
+    private final TextModerationService moderationService;
+
+    @Autowired
+    public TextValidationHandler(TextModerationService moderationService) {
+        this.moderationService = moderationService;
+    }
+
+    public void validateText(String text) {
+        if (!moderationService.isTextSafe(text)) {
+            throw new InappropriateContentException(
+                    "El texto contiene contenido inapropiado y no puede ser publicado"
+            );
+        }
+    }
+}
@@ -0,0 +1,120 @@
+-- Schema documented in the README before migrations were introduced. Databases created from that script
+-- or by Hibernate are baselined at this version and start with V2.
+
+CREATE TABLE career
+(
+    idCareer INT AUTO_INCREMENT PRIMARY KEY,
+    name     VARCHAR(65) NOT NULL,
+    acronym  VARCHAR(10) NOT NULL,
+    CONSTRAINT unique_acronym UNIQUE (acronym)
+);
+
+CREATE TABLE authentication
+(
+    idAuthentication INT AUTO_INCREMENT PRIMARY KEY,
+    email            VARCHAR(65) NOT NULL,
+    password         VARCHAR(65) NOT NULL,
+    CONSTRAINT unique_email UNIQUE (email)
+);
+
+CREATE TABLE user
+(
+    idUser           INT AUTO_INCREMENT PRIMARY KEY,
+    name             VARCHAR(65) NOT NULL,
+    lastName         VARCHAR(65) NOT NULL,
+    secondLastName   VARCHAR(65) NOT NULL,
+    controlNumber    VARCHAR(8)  NOT NULL,
+    idCareer         INT         NOT NULL,
+    idAuthentication INT         NOT NULL,
+    FOREIGN KEY (idCareer) REFERENCES career (idCareer),
+    FOREIGN KEY (idAuthentication) REFERENCES authentication (idAuthentication),
+    CONSTRAINT unique_controlNumber UNIQUE (controlNumber)
+);
+
+CREATE TABLE relationship
+(
+    idUser     INT NOT NULL,
+    idFollower INT NOT NULL,
+    PRIMARY KEY (idUser, idFollower),
+    FOREIGN KEY (idUser) REFERENCES user (idUser),
+    FOREIGN KEY (idFollower) REFERENCES user (idUser)
+);
+
+CREATE TABLE profile
+(
+    idProfile   INT AUTO_INCREMENT PRIMARY KEY,
+    description VARCHAR(150) NOT NULL,
+    idUser      INT          NOT NULL,
+    FOREIGN KEY (idUser) REFERENCES user (idUser)
+);
+
+CREATE TABLE image_profile
+(
+    idImageProfile    INT AUTO_INCREMENT PRIMARY KEY,
+    idProfile         INT          NOT NULL,
+    imageUrl          VARCHAR(255) NOT NULL,
+    imageThumbnailUrl VARCHAR(255) NOT NULL,
+    FOREIGN KEY (idProfile) REFERENCES profile (idProfile)
+);
+
+CREATE TABLE post
+(
+    idPost      INT AUTO_INCREMENT PRIMARY KEY,
+    dateCreated DATE NOT NULL,
+    idUser      INT  NOT NULL,
+    FOREIGN KEY (idUser) REFERENCES user (idUser)
+);
+
+CREATE TABLE image_post
+(
+    idImagePost       INT AUTO_INCREMENT PRIMARY KEY,
+    imageUrl          VARCHAR(255) NOT NULL,
+    imageThumbnailUrl VARCHAR(255) NOT NULL,
+    idPost            INT          NOT NULL,
+    FOREIGN KEY (idPost) REFERENCES post (idPost)
+);
+
+CREATE TABLE post_description
+(
+    idPostDescription INT AUTO_INCREMENT PRIMARY KEY,
+    description       VARCHAR(150) NOT NULL,
+    idPost            INT          NOT NULL,
+    FOREIGN KEY (idPost) REFERENCES post (idPost)
+);
+
+CREATE TABLE comment
+(
+    idComment INT AUTO_INCREMENT PRIMARY KEY,
+    comment   VARCHAR(150) NOT NULL,
+    date      DATE         NOT NULL,
+    idUser    INT          NOT NULL,
+    idPost    INT          NOT NULL,
+    FOREIGN KEY (idUser) REFERENCES user (idUser),
+    FOREIGN KEY (idPost) REFERENCES post (idPost)
+);
+
+CREATE TABLE reaction_icon
+(
+    idReactionIcon   INT AUTO_INCREMENT PRIMARY KEY,
+    iconUrl          VARCHAR(255) NOT NULL,
+    iconThumbnailUrl VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE reaction_type
+(
+    idReactionType INT AUTO_INCREMENT PRIMARY KEY,
+    name           VARCHAR(65) NOT NULL,
+    idReactionIcon INT         NOT NULL,
+    FOREIGN KEY (idReactionIcon) REFERENCES reaction_icon (idReactionIcon)
+);
+
+CREATE TABLE reaction
+(
+    idReactionType INT NOT NULL,
+    idUser         INT NOT NULL,
+    idPost         INT NOT NULL,
+    createdDate    TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (idUser, idPost, idReactionType),
+    FOREIGN KEY (idUser) REFERENCES user (idUser),
+    FOREIGN KEY (idPost) REFERENCES post (idPost)
+);
@@ -0,0 +1,72 @@
+-- Brings databases created from V1 or by Hibernate's ddl-auto in line with the entities, so Hibernate can
+-- validate the schema instead of changing it. Every statement is safe on both kinds of database.
+
+DROP PROCEDURE IF EXISTS create_index_if_missing;
+
+DELIMITER //
+
+-- Creates the index unless the table already has one starting with the same columns, e.g. the one MySQL adds
+-- for a foreign key. Later migrations use it as well.
+CREATE PROCEDURE create_index_if_missing(IN tableName VARCHAR(64), IN indexName VARCHAR(64), IN columnList VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM (SELECT GROUP_CONCAT(column_name ORDER BY seq_in_index) AS columnNames
+                         FROM information_schema.statistics
+                         WHERE table_schema = DATABASE()
+                           AND table_name = tableName
+                         GROUP BY index_name) existing
+                   WHERE CONCAT(existing.columnNames, ',') LIKE CONCAT(REPLACE(columnList, ' ', ''), ',%')) THEN
+        SET @createIndex = CONCAT('CREATE INDEX ', indexName, ' ON `', tableName, '` (', columnList, ')');
+        PREPARE statement FROM @createIndex;
+        EXECUTE statement;
+        DEALLOCATE PREPARE statement;
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Posts and comments keep the time, not only the day
+ALTER TABLE post MODIFY dateCreated DATETIME NOT NULL;
+ALTER TABLE comment MODIFY date DATETIME NOT NULL;
+
+-- Lengths accepted by the validation of the entities
+ALTER TABLE career MODIFY name VARCHAR(80) NOT NULL;
+ALTER TABLE comment MODIFY comment VARCHAR(200) NOT NULL;
+ALTER TABLE image_post MODIFY imageUrl VARCHAR(500) NOT NULL, MODIFY imageThumbnailUrl VARCHAR(500) NOT NULL;
+ALTER TABLE image_profile MODIFY imageUrl VARCHAR(500) NOT NULL, MODIFY imageThumbnailUrl VARCHAR(500) NOT NULL;
+UPDATE post_description SET description = '' WHERE description IS NULL;
+ALTER TABLE post_description MODIFY description VARCHAR(255) NOT NULL;
+
+CREATE TABLE IF NOT EXISTS blocked_image_hash
+(
+    idBlockedImageHash INT AUTO_INCREMENT PRIMARY KEY,
+    hash               BIGINT   NOT NULL,
+    createdDate        DATETIME NOT NULL,
+    CONSTRAINT unique_hash UNIQUE (hash)
+);
+
+CREATE TABLE IF NOT EXISTS post_view_sketch
+(
+    idPost      INT PRIMARY KEY,
+    sketch      VARBINARY(4097) NOT NULL,
+    updatedDate DATETIME        NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS notification
+(
+    idNotification INT AUTO_INCREMENT PRIMARY KEY,
+    idUser         INT          NOT NULL,
+    idPost         INT          NOT NULL,
+    type           VARCHAR(16)  NOT NULL,
+    idLastActor    INT          NOT NULL,
+    lastActorName  VARCHAR(120) NOT NULL,
+    actorCount     INT          NOT NULL,
+    seen           BIT          NOT NULL,
+    updatedDate    DATETIME     NOT NULL
+);
+
+-- Keyset pagination of comments and notifications
+CALL create_index_if_missing('comment', 'idx_comment_post_date', 'idPost, date, idComment');
+CALL create_index_if_missing('comment', 'idx_comment_user_date', 'idUser, date, idComment');
+CALL create_index_if_missing('notification', 'idx_notification_user_date', 'idUser, updatedDate, idNotification');
+CALL create_index_if_missing('notification', 'idx_notification_unread', 'idUser, idPost, type, seen');
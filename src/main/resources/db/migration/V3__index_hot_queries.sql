@@ -0,0 +1,20 @@
+-- Indexes for the filters and sort orders used by the repositories. Columns that already lead an index, such
+-- as the foreign keys MySQL indexes on its own, are skipped by create_index_if_missing.
+
+-- Posts of a user and the global feed, newest first
+CALL create_index_if_missing('post', 'idx_post_user_date', 'idUser, dateCreated');
+CALL create_index_if_missing('post', 'idx_post_date', 'dateCreated');
+
+-- Comments of a post (already covered by idx_comment_post_date) and recent activity for trending posts
+CALL create_index_if_missing('comment', 'idx_comment_post_date', 'idPost, date');
+CALL create_index_if_missing('comment', 'idx_comment_date', 'date');
+
+-- Reaction counts per type and recent activity for trending posts
+CALL create_index_if_missing('reaction', 'idx_reaction_post_type', 'idPost, idReactionType');
+CALL create_index_if_missing('reaction', 'idx_reaction_date', 'createdDate');
+
+-- Users followed by a user, for the following feed and live updates
+CALL create_index_if_missing('relationship', 'idx_relationship_follower', 'idFollower');
+
+-- Images of a post
+CALL create_index_if_missing('image_post', 'idx_image_post_post', 'idPost');
@@ -0,0 +1,27 @@
+-- Block allocator for the ids of the tables that take the most inserts (see IdGeneration). Hibernate treats
+-- next_val as the highest id of the next block and hands out the 50 ids below it, so each row starts one block
+-- above the current maximum. The AUTO_INCREMENT columns stay as they are for rows inserted by hand.
+CREATE TABLE id_generator
+(
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val      BIGINT       NOT NULL
+);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'user', COALESCE(MAX(idUser), 0) + 50 FROM user
+UNION ALL
+SELECT 'authentication', COALESCE(MAX(idAuthentication), 0) + 50 FROM authentication
+UNION ALL
+SELECT 'profile', COALESCE(MAX(idProfile), 0) + 50 FROM profile
+UNION ALL
+SELECT 'image_profile', COALESCE(MAX(idImageProfile), 0) + 50 FROM image_profile
+UNION ALL
+SELECT 'post', COALESCE(MAX(idPost), 0) + 50 FROM post
+UNION ALL
+SELECT 'post_description', COALESCE(MAX(idPostDescription), 0) + 50 FROM post_description
+UNION ALL
+SELECT 'image_post', COALESCE(MAX(idImagePost), 0) + 50 FROM image_post
+UNION ALL
+SELECT 'comment', COALESCE(MAX(idComment), 0) + 50 FROM comment
+UNION ALL
+SELECT 'notification', COALESCE(MAX(idNotification), 0) + 50 FROM notification;
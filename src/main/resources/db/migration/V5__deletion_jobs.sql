@@ -0,0 +1,21 @@
+-- Deleting a user or a post only marks it and queues a job; DeletionJobService purges the dependent rows later in
+-- small chunks and records how far it got after every chunk, so an interrupted job continues where it stopped.
+ALTER TABLE user ADD COLUMN deletedDate DATETIME NULL;
+ALTER TABLE post ADD COLUMN deletedDate DATETIME NULL;
+
+CREATE TABLE deletion_job
+(
+    idDeletionJob INT AUTO_INCREMENT PRIMARY KEY,
+    type          VARCHAR(8)  NOT NULL,
+    idTarget      INT         NOT NULL,
+    step          VARCHAR(16) NOT NULL,
+    deletedRows   BIGINT      NOT NULL,
+    createdDate   DATETIME    NOT NULL,
+    updatedDate   DATETIME    NOT NULL,
+    finishedDate  DATETIME    NULL,
+    CONSTRAINT unique_deletion_target UNIQUE (type, idTarget)
+);
+
+-- Chunks of the purge that would otherwise scan the whole table
+CALL create_index_if_missing('deletion_job', 'idx_deletion_job_pending', 'finishedDate, idDeletionJob');
+CALL create_index_if_missing('notification', 'idx_notification_post', 'idPost');
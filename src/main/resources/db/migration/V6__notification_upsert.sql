@@ -0,0 +1,25 @@
+-- Notifications are written with INSERT ... ON DUPLICATE KEY UPDATE, one row per recipient, post and type that
+-- becomes unread again on new activity. Older databases may hold several rows per key, read ones next to the
+-- unread one; only the most recent is kept.
+DELETE older
+FROM notification older
+         JOIN notification newer
+              ON newer.idUser = older.idUser AND newer.idPost = older.idPost AND newer.type = older.type
+                  AND (newer.updatedDate > older.updatedDate
+                      OR (newer.updatedDate = older.updatedDate AND newer.idNotification > older.idNotification));
+
+ALTER TABLE notification ADD CONSTRAINT unique_notification_target UNIQUE (idUser, idPost, type);
+
+-- The unique key covers the lookups idx_notification_unread was created for
+SET @dropIndex = (SELECT IF(COUNT(*) > 0, 'DROP INDEX idx_notification_unread ON notification', 'DO 0')
+                  FROM information_schema.statistics
+                  WHERE table_schema = DATABASE()
+                    AND table_name = 'notification'
+                    AND index_name = 'idx_notification_unread');
+PREPARE statement FROM @dropIndex;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+-- The upsert lets MySQL assign ids, so notifications no longer take blocks from id_generator
+ALTER TABLE notification MODIFY idNotification INT NOT NULL AUTO_INCREMENT;
+DELETE FROM id_generator WHERE sequence_name = 'notification';
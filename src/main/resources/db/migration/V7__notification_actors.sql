@@ -0,0 +1,37 @@
+-- Users counted in each unread notification, so an actor counts once however many flushes their activity spans.
+-- The rows of a notification are removed when it is read, which starts the count again.
+CREATE TABLE notification_actor
+(
+    idNotification INT NOT NULL,
+    idUser         INT NOT NULL,
+    PRIMARY KEY (idNotification, idUser),
+    FOREIGN KEY (idNotification) REFERENCES notification (idNotification) ON DELETE CASCADE
+);
+
+-- Purging a deleted user looks up the notifications they are counted in
+CALL create_index_if_missing('notification_actor', 'idx_notification_actor_user', 'idUser');
+
+-- Unread notifications only kept a count; their actors are rebuilt from the last actor and the reactions and
+-- comments on the post. Activity from before the last read cannot be told apart and is counted as well.
+INSERT IGNORE INTO notification_actor (idNotification, idUser)
+SELECT n.idNotification, n.idLastActor
+FROM notification n
+WHERE n.seen = false;
+
+INSERT IGNORE INTO notification_actor (idNotification, idUser)
+SELECT n.idNotification, r.idUser
+FROM notification n
+         JOIN reaction r ON r.idPost = n.idPost AND r.idUser <> n.idUser
+WHERE n.seen = false
+  AND n.type = 'REACTION';
+
+INSERT IGNORE INTO notification_actor (idNotification, idUser)
+SELECT n.idNotification, c.idUser
+FROM notification n
+         JOIN comment c ON c.idPost = n.idPost AND c.idUser <> n.idUser
+WHERE n.seen = false
+  AND n.type = 'COMMENT';
+
+UPDATE notification n
+SET n.actorCount = (SELECT COUNT(*) FROM notification_actor a WHERE a.idNotification = n.idNotification)
+WHERE n.seen = false;
@@ -0,0 +1,2 @@
+-- Purging a deleted user removes the notifications of other users that show the user as the last actor
+CALL create_index_if_missing('notification', 'idx_notification_last_actor', 'idLastActor');
@@ -0,0 +1,170 @@
+package itst.socialraccoon.api.benchmarks;
+
+import itst.socialraccoon.api.SocialRaccoonApiApplication;
+import itst.socialraccoon.api.models.AuthenticationModel;
+import itst.socialraccoon.api.models.CareerModel;
+import itst.socialraccoon.api.models.ImagePostModel;
+import itst.socialraccoon.api.models.PostDescriptionModel;
+import itst.socialraccoon.api.models.PostModel;
+import itst.socialraccoon.api.models.ProfileModel;
+import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.repositories.CareerRepository;
+import itst.socialraccoon.api.repositories.UserRepository;
+import itst.socialraccoon.api.services.PostService;
+import itst.socialraccoon.api.services.UserService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of a signup (user, authentication, profile and image profile) and of a post with three images, flushed
+ * to MySQL and rolled back so runs can be repeated on the same data. {@code identity} maps the ids back to the
+ * AUTO_INCREMENT columns, which Hibernate inserts one row at a time, and {@code pooled} uses the id_generator
+ * table, whose ids let the inserts be batched. Needs a database with at least one career and one user: set
+ * BENCHMARK_DATASOURCE_URL (with rewriteBatchedStatements=true) and BENCHMARK_DATASOURCE_USERNAME / _PASSWORD,
+ * then run {@code mvn test-compile exec:exec -Dbenchmark=InsertBatchingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final String IMAGE_URL = "https://firebasestorage.googleapis.com/v0/b/socialraccoon-990a3.appspot.com/o/benchmark.jpg?alt=media";
+
+    @Param({"identity", "pooled"})
+    private String idGenerator;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transaction;
+    private EntityManager entityManager;
+    private UserService userService;
+    private PostService postService;
+    private CareerModel career;
+    private UserModel author;
+
+    @Setup
+    public void setUp() {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + System.getenv("BENCHMARK_DATASOURCE_URL"),
+                "spring.datasource.username=" + System.getenv().getOrDefault("BENCHMARK_DATASOURCE_USERNAME", "root"),
+                "spring.datasource.password=" + System.getenv().getOrDefault("BENCHMARK_DATASOURCE_PASSWORD", ""),
+                "spring.jpa.show-sql=false"));
+        if ("identity".equals(idGenerator)) {
+            properties.add("spring.jpa.mapping-resources=benchmarks/identity-ids.orm.xml");
+        }
+        context = new SpringApplicationBuilder(SocialRaccoonApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new))
+                .run();
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+        userService = context.getBean(UserService.class);
+        postService = context.getBean(PostService.class);
+        career = context.getBean(CareerRepository.class).findAll().get(0);
+        author = context.getBean(UserRepository.class).findAll(PageRequest.of(0, 1)).getContent().get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer signUp() {
+        return flushAndRollBack(() -> {
+            UserModel user = new UserModel();
+            user.setName("Benchmark");
+            user.setLastName("Raccoon");
+            user.setSecondLastName("Insert");
+            user.setControlNumber("29TE9999");
+            user.setCareer(career);
+
+            AuthenticationModel authentication = new AuthenticationModel();
+            authentication.setEmail("benchmark@teziutlan.tecnm.mx");
+            authentication.setPassword("Benchmark123");
+            authentication.setUser(user);
+            user.setAuthentication(authentication);
+
+            ProfileModel profile = new ProfileModel();
+            profile.setIdUser(user);
+            profile.setDescription("Cuenta de prueba");
+            user.setProfile(profile);
+
+            return userService.save(user).getIdUser();
+        });
+    }
+
+    @Benchmark
+    public Integer postWithImages() {
+        return flushAndRollBack(() -> {
+            PostModel post = new PostModel();
+            post.setUser(author);
+            post.setDateCreated(LocalDateTime.now().withNano(0));
+
+            PostDescriptionModel description = new PostDescriptionModel();
+            description.setIdPost(post);
+            description.setDescription("Publicación de prueba con tres imágenes");
+            post.setIdPostDescription(description);
+
+            List<ImagePostModel> images = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                ImagePostModel image = new ImagePostModel();
+                image.setIdPost(post);
+                image.setImageUrl(IMAGE_URL);
+                image.setImageThumbnailUrl(IMAGE_URL);
+                images.add(image);
+            }
+            post.setImages(images);
+
+            return postService.save(post).getIdPost();
+        });
+    }
+
+    /**
+     * The services join this transaction, so the inserts reach the database on flush but nothing is kept.
+     */
+    private Integer flushAndRollBack(Supplier<Integer> insert) {
+        return transaction.execute(status -> {
+            Integer id = insert.get();
+            entityManager.flush();
+            status.setRollbackOnly();
+            return id;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InsertBatchingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
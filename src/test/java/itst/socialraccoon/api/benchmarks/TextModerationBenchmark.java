@@ -0,0 +1,63 @@
+package itst.socialraccoon.api.benchmarks;
+
+import itst.socialraccoon.api.services.TextModerationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of moderating a post description or comment. Run from the IDE or with
+ * {@code mvn test-compile exec:exec -Dbenchmark=TextModerationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextModerationBenchmark {
+
+    @Param({"clean", "accented", "blocked"})
+    private String message;
+
+    private TextModerationService moderationService;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        moderationService = new TextModerationService(new ClassPathResource("moderation/blocklist.txt"), List.of());
+        text = switch (message) {
+            case "clean" -> "Mañana es el examen final de cálculo en el edificio B, no falten y lleguen temprano por favor";
+            case "accented" -> "¿Alguién sabe dónde será la reunión del equipo de programación? Ñandú, pingüino y camión";
+            default -> "Este profe es un p3nd3j0, otra vez no llegó a la clase de las siete de la mañana";
+        };
+    }
+
+    @Benchmark
+    public boolean isTextSafe() {
+        return moderationService.isTextSafe(text);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TextModerationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,50 @@
+package itst.socialraccoon.api.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(List.of("replica-1", "replica-2"));
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadWriteRoutingDataSource.unpin();
+    }
+
+    @Test
+    public void writesGoToThePrimary() {
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    public void readOnlyTransactionsTakeTurnsOnTheReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(List.of(dataSource.determineCurrentLookupKey(), dataSource.determineCurrentLookupKey(),
+                dataSource.determineCurrentLookupKey()))
+                .containsExactly("replica-1", "replica-2", "replica-1");
+    }
+
+    @Test
+    public void pinnedThreadsReadFromThePrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadWriteRoutingDataSource.pinToPrimary();
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    public void withoutReplicasEverythingGoesToThePrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(new ReadWriteRoutingDataSource(List.of()).determineCurrentLookupKey())
+                .isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+}
@@ -96,6 +96,14 @@ public class PostControllerTest {
                 .andExpect(content().string("Image deleted successfully"));
     }
 
+    @Test
+    public void deleteImageNotFromPost() throws Exception {
+        mvc.perform(delete("/posts/images/2")
+                        .param("imageId", "0"))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
     /*@Test
     public void addImageToPost() throws Exception {
         MockMultipartFile image = new MockMultipartFile("image", "image.jpg", "image/jpeg", "image data".getBytes());
@@ -0,0 +1,74 @@
+package itst.socialraccoon.api.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements behind the post lists: the page itself (with its author and description),
+ * its count, and one batch per collection or referenced entity, however many posts the page has. A page of one
+ * post and a page of ten must take the same statements, so the seed data needs ten posts with reactions and
+ * images in each list; with fewer the last page skips its count query and the comparison does not hold.
+ */
+@SpringBootTest
+@ActiveProfiles("statistics")
+@AutoConfigureMockMvc
+@WithMockUser(username = "pedro@teziutlan.tecnm.mx", password = "123Yy456")
+public class PostFetchPlanTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Loads the reaction types into the second-level cache so the counts do not depend on test order
+        statementsFor("/posts/feed?page=0&size=10");
+    }
+
+    @Test
+    public void feedIsLoadedInAFixedNumberOfStatements() throws Exception {
+        assertSameStatementsForOneAndTenPosts("/posts/feed");
+    }
+
+    @Test
+    public void postsOfAUserAreLoadedInAFixedNumberOfStatements() throws Exception {
+        assertSameStatementsForOneAndTenPosts("/posts/1");
+    }
+
+    @Test
+    public void trendingPostsAreLoadedInAFixedNumberOfStatements() throws Exception {
+        assertSameStatementsForOneAndTenPosts("/posts/trending");
+    }
+
+    private void assertSameStatementsForOneAndTenPosts(String path) throws Exception {
+        long onePost = statementsFor(path + "?page=0&size=1");
+        long tenPosts = statementsFor(path + "?page=0&size=10");
+        assertThat(onePost).isPositive();
+        assertThat(tenPosts).isEqualTo(onePost);
+    }
+
+    private long statementsFor(String url) throws Exception {
+        statistics.clear();
+        mvc.perform(get(url).accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,226 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.UserModel;
+import itst.socialraccoon.api.models.compositekeys.RelationshipPK;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls every JPQL and derived repository method against a database migrated with the Flyway scripts, records
+ * the SQL Hibernate generates for it together with the bound values, and runs EXPLAIN on each statement the same
+ * way {@link RepositoryIndexUsageTest} does for native queries. Each call runs in a transaction that is rolled back.
+ * <p>
+ * Needs a MySQL database: set EXPLAIN_DATASOURCE_URL (and EXPLAIN_DATASOURCE_USERNAME / _PASSWORD).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DATASOURCE_URL", matches = ".+")
+public class GeneratedQueryIndexUsageTest {
+
+    private static final List<RecordedStatement> STATEMENTS = new ArrayList<>();
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void explainDatasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("EXPLAIN_DATASOURCE_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("EXPLAIN_DATASOURCE_USERNAME", "root"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("EXPLAIN_DATASOURCE_PASSWORD", ""));
+    }
+
+    @TestFactory
+    public List<DynamicTest> everyGeneratedQueryCanUseAnIndex() throws Exception {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> repository : RepositoryIndexUsageTest.repositories()) {
+            for (Method method : repository.getDeclaredMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || (query != null && query.nativeQuery())) {
+                    continue;
+                }
+                String name = repository.getSimpleName() + "." + method.getName();
+                tests.add(DynamicTest.dynamicTest(name, () -> {
+                    List<RecordedStatement> statements = record(repository, method);
+                    assertThat(statements).as("Statements run by %s", name).isNotEmpty();
+                    try (Connection connection = dataSource.getConnection()) {
+                        for (RecordedStatement statement : statements) {
+                            assertThat(RepositoryIndexUsageTest.fullScans(connection, statement.sql(), statement.parameters()))
+                                    .as("Tables read without any usable index by %s", statement.sql())
+                                    .isEmpty();
+                        }
+                    }
+                }));
+            }
+        }
+        return tests;
+    }
+
+    private List<RecordedStatement> record(Class<?> repository, Method method) {
+        Object bean = context.getBean(repository);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Object[] arguments = new Object[method.getParameterCount()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = argument(method.getParameterTypes()[i]);
+            }
+            try {
+                method.invoke(bean, arguments);
+                // Statements Hibernate would only flush at commit are run as well
+                entityManager.flush();
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+
+    /**
+     * A value of the parameter's type; the rows do not need to exist, the plan only depends on the columns compared.
+     */
+    private Object argument(Class<?> type) {
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == String.class) {
+            return "x";
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.of(2024, 1, 1, 0, 0);
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(1, 2, 3);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 10);
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == RelationshipPK.class) {
+            return new RelationshipPK(entityManager.getReference(UserModel.class, 1), entityManager.getReference(UserModel.class, 2));
+        }
+        if (type.isAnnotationPresent(Entity.class)) {
+            return entityManager.getReference(type, 1);
+        }
+        throw new IllegalStateException("No test value for " + type.getName() + ", add one to argument()");
+    }
+
+    private record RecordedStatement(String sql, List<Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class RecordingConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordStatements() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recording(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource recording(DataSource target) {
+            return proxy(DataSource.class, target, (method, arguments, result) ->
+                    "getConnection".equals(method.getName()) ? recording((Connection) result) : result);
+        }
+
+        private static Connection recording(Connection target) {
+            return proxy(Connection.class, target, (method, arguments, result) ->
+                    "prepareStatement".equals(method.getName())
+                            ? recording((PreparedStatement) result, (String) arguments[0])
+                            : result);
+        }
+
+        private static PreparedStatement recording(PreparedStatement target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, target, (method, arguments, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && arguments != null && arguments.length >= 2 && arguments[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : arguments[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                    synchronized (STATEMENTS) {
+                        STATEMENTS.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+                    }
+                }
+                return result;
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Decorator decorator) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, arguments) -> {
+                try {
+                    return decorator.decorate(method, arguments, method.invoke(target, arguments));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+
+        private interface Decorator {
+            Object decorate(Method method, Object[] arguments, Object result) throws Exception;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package itst.socialraccoon.api.repositories;
+
+import itst.socialraccoon.api.models.NotificationModel.Type;
+import itst.socialraccoon.api.repositories.NotificationActivityRepository.Activity;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the notification upserts against a database migrated with the Flyway scripts. Every test works on its own
+ * users and post inside one connection that is rolled back afterwards.
+ * <p>
+ * Needs a MySQL database: set EXPLAIN_DATASOURCE_URL (and EXPLAIN_DATASOURCE_USERNAME / _PASSWORD), the same one
+ * {@link RepositoryIndexUsageTest} uses.
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DATASOURCE_URL", matches = ".+")
+public class NotificationActivityRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private static String url;
+    private static String username;
+    private static String password;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NotificationActivityRepositoryImpl repository;
+    private int author;
+    private int ana;
+    private int luis;
+    private int post;
+
+    @BeforeAll
+    public static void migrate() {
+        url = System.getenv("EXPLAIN_DATASOURCE_URL");
+        username = System.getenv().getOrDefault("EXPLAIN_DATASOURCE_USERNAME", "root");
+        password = System.getenv().getOrDefault("EXPLAIN_DATASOURCE_PASSWORD", "");
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dataSource = new SingleConnectionDataSource(url, username, password, true);
+        dataSource.setAutoCommit(false);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new NotificationActivityRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+
+        jdbcTemplate.update("INSERT INTO career (name, acronym) VALUES ('Notificaciones', 'NTFTEST')");
+        int career = lastId();
+        author = insertUser(career, "autor", "00000001");
+        ana = insertUser(career, "ana", "00000002");
+        luis = insertUser(career, "luis", "00000003");
+        post = insertPost(null);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        dataSource.getConnection().rollback();
+        dataSource.destroy();
+    }
+
+    @Test
+    public void actorsCountOnceAcrossFlushes() {
+        repository.addActivity(List.of(activity(post, ana, ana, luis)));
+        repository.addActivity(List.of(activity(post, ana, ana)));
+
+        Map<String, Object> notification = notification(post);
+        assertThat(((Number) notification.get("actorCount")).intValue()).isEqualTo(2);
+        assertThat(((Number) notification.get("idLastActor")).intValue()).isEqualTo(ana);
+    }
+
+    @Test
+    public void readingStartsTheCountAgain() {
+        repository.addActivity(List.of(activity(post, luis, ana, luis)));
+
+        assertThat(repository.markAllAsRead(author)).isEqualTo(1);
+        repository.addActivity(List.of(activity(post, ana, ana)));
+
+        Map<String, Object> notification = notification(post);
+        assertThat(((Number) notification.get("actorCount")).intValue()).isEqualTo(1);
+        assertThat(notification.get("seen")).isIn(false, 0);
+    }
+
+    @Test
+    public void activityOnDeletedPostsIsSkipped() {
+        int deletedPost = insertPost(NOW);
+
+        repository.addActivity(List.of(activity(deletedPost, ana, ana)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification WHERE idPost = ?", Integer.class, deletedPost))
+                .isZero();
+    }
+
+    private Activity activity(int postId, int lastActorId, Integer... actorIds) {
+        return new Activity(author, postId, Type.COMMENT, List.of(actorIds), lastActorId, "Usuario " + lastActorId, NOW);
+    }
+
+    private Map<String, Object> notification(int postId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM notification WHERE idUser = ? AND idPost = ? AND type = 'COMMENT'",
+                author, postId);
+    }
+
+    private int insertUser(int career, String name, String controlNumber) {
+        jdbcTemplate.update("INSERT INTO authentication (email, password) VALUES (?, 'x')", name + "@notificaciones.test");
+        int authentication = lastId();
+        jdbcTemplate.update("INSERT INTO user (name, lastName, secondLastName, controlNumber, idCareer, idAuthentication) " +
+                "VALUES (?, 'Prueba', 'Prueba', ?, ?, ?)", name, controlNumber, career, authentication);
+        return lastId();
+    }
+
+    private int insertPost(LocalDateTime deletedDate) {
+        jdbcTemplate.update("INSERT INTO post (dateCreated, idUser, deletedDate) VALUES (?, ?, ?)", NOW, author, deletedDate);
+        return lastId();
+    }
+
+    private int lastId() {
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Integer.class);
+    }
+}
@@ -0,0 +1,161 @@
+package itst.socialraccoon.api.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on every native repository query against a database migrated with the Flyway scripts and fails
+ * when a table is read with a full scan and no index could have been used. Only checks whether a usable index
+ * exists, since on a small test database MySQL may prefer a full scan anyway. JPQL and derived queries are
+ * checked by {@link GeneratedQueryIndexUsageTest}.
+ * <p>
+ * Needs a MySQL database: set EXPLAIN_DATASOURCE_URL (and EXPLAIN_DATASOURCE_USERNAME / _PASSWORD).
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DATASOURCE_URL", matches = ".+")
+public class RepositoryIndexUsageTest {
+
+    private static final String REPOSITORY_PACKAGE = "itst.socialraccoon.api.repositories";
+
+    private static final Map<String, String> EXCLUDED = Map.of(
+            "BlockedImageHashRepository.findAllHashes", "loads every hash into memory once at startup");
+
+    private static String url;
+    private static String username;
+    private static String password;
+
+    @BeforeAll
+    public static void migrate() {
+        url = System.getenv("EXPLAIN_DATASOURCE_URL");
+        username = System.getenv().getOrDefault("EXPLAIN_DATASOURCE_USERNAME", "root");
+        password = System.getenv().getOrDefault("EXPLAIN_DATASOURCE_PASSWORD", "");
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @TestFactory
+    public List<DynamicTest> everyNativeQueryCanUseAnIndex() throws Exception {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> repository : repositories()) {
+            for (Method method : repository.getDeclaredMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                String name = repository.getSimpleName() + "." + method.getName();
+                if (query == null || !query.nativeQuery() || EXCLUDED.containsKey(name)) {
+                    continue;
+                }
+                String sql = bind(query.value(), method);
+                tests.add(DynamicTest.dynamicTest(name, () -> {
+                    try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                        assertThat(fullScans(connection, sql, List.of()))
+                                .as("Tables read without any usable index by %s", sql)
+                                .isEmpty();
+                    }
+                }));
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Returns the tables EXPLAIN reads with a full scan that no index could have avoided, binding
+     * {@code parameters} to the statement's placeholders in order.
+     */
+    static List<String> fullScans(Connection connection, String sql, List<?> parameters) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                while (plan.next()) {
+                    String table = plan.getString("table");
+                    // Derived tables and subqueries are checked through the rows of the tables they read
+                    if (table == null || table.startsWith("<")) {
+                        continue;
+                    }
+                    // The table an INSERT writes into is not read
+                    if ("INSERT".equals(plan.getString("select_type"))) {
+                        continue;
+                    }
+                    if ("ALL".equals(plan.getString("type")) && plan.getString("possible_keys") == null) {
+                        tables.add(table);
+                    }
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Replaces every named parameter with a literal of its type, since EXPLAIN cannot take bind parameters here.
+     */
+    private static String bind(String sql, Method method) {
+        String bound = sql;
+        for (Parameter parameter : method.getParameters()) {
+            Param param = parameter.getAnnotation(Param.class);
+            String name = param != null ? param.value() : parameter.isNamePresent() ? parameter.getName() : null;
+            if (name == null) {
+                continue;
+            }
+            bound = bound.replaceAll(":" + name + "\\b", Matcher.quoteReplacement(literal(parameter.getType())));
+        }
+        return bound;
+    }
+
+    private static String literal(Class<?> type) {
+        if (type == String.class) {
+            return "'x'";
+        }
+        if (type == LocalDateTime.class) {
+            return "'2024-01-01 00:00:00'";
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return "1, 2, 3";
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return "true";
+        }
+        return "1";
+    }
+
+    static List<Class<?>> repositories() throws Exception {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        MetadataReaderFactory readerFactory = new CachingMetadataReaderFactory(resolver);
+        List<Class<?>> repositories = new ArrayList<>();
+        for (Resource resource : resolver.getResources("classpath*:" + REPOSITORY_PACKAGE.replace('.', '/') + "/*.class")) {
+            Class<?> type = Class.forName(readerFactory.getMetadataReader(resource).getClassMetadata().getClassName());
+            if (type.isInterface() && Repository.class.isAssignableFrom(type)) {
+                repositories.add(type);
+            }
+        }
+        return repositories;
+    }
+}
@@ -0,0 +1,60 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.utils.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccessTokenServiceTest {
+
+    private static final String EMAIL = "L21TE0284@teziutlan.tecnm.mx";
+
+    private final MutableClock clock = new MutableClock();
+    private final AccessTokenService service = new AccessTokenService("test-secret", Duration.ofMinutes(30), clock);
+
+    @Test
+    public void issuedTokenVerifiesUntilItExpires() {
+        String token = service.issue(EMAIL);
+
+        assertThat(service.verify(token)).isNotNull();
+        assertThat(service.verify(token).email()).isEqualTo(EMAIL);
+
+        clock.advance(Duration.ofMinutes(31));
+        assertThat(service.verify(token)).isNull();
+    }
+
+    @Test
+    public void tamperedOrForeignTokensAreRejected() {
+        String token = service.issue(EMAIL);
+        AccessTokenService other = new AccessTokenService("other-secret", Duration.ofMinutes(30), clock);
+
+        assertThat(service.verify(token.substring(0, token.length() - 2) + "AA")).isNull();
+        assertThat(service.verify(other.issue(EMAIL))).isNull();
+        assertThat(service.verify("not-a-token")).isNull();
+        assertThat(service.verify(null)).isNull();
+    }
+
+    @Test
+    public void rotationRevokesThePreviousToken() {
+        String first = service.issue(EMAIL);
+        String second = service.rotate(first);
+
+        assertThat(service.verify(first)).isNull();
+        assertThat(service.verify(second)).isNotNull();
+        assertThat(service.rotate(first)).isNull();
+    }
+
+    @Test
+    public void revokeAllOnlyAffectsTokensIssuedBefore() {
+        String old = service.issue(EMAIL);
+        clock.advance(Duration.ofSeconds(1));
+        service.revokeAll(EMAIL);
+        clock.advance(Duration.ofSeconds(1));
+        String fresh = service.issue(EMAIL);
+
+        assertThat(service.verify(old)).isNull();
+        assertThat(service.verify(fresh)).isNotNull();
+    }
+}
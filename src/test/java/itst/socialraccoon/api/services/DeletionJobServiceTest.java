@@ -0,0 +1,195 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.DeletionJobModel;
+import itst.socialraccoon.api.models.DeletionJobModel.Step;
+import itst.socialraccoon.api.models.DeletionJobModel.Type;
+import itst.socialraccoon.api.repositories.AuthenticationRepository;
+import itst.socialraccoon.api.repositories.CommentRepository;
+import itst.socialraccoon.api.repositories.DeletionJobRepository;
+import itst.socialraccoon.api.repositories.ImagePostRepository;
+import itst.socialraccoon.api.repositories.ImageProfileRepository;
+import itst.socialraccoon.api.repositories.NotificationRepository;
+import itst.socialraccoon.api.repositories.PostDescriptionRepository;
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.repositories.ProfileRepository;
+import itst.socialraccoon.api.repositories.ReactionRepository;
+import itst.socialraccoon.api.repositories.RelationshipRepository;
+import itst.socialraccoon.api.repositories.UserRepository;
+import itst.socialraccoon.api.repositories.projections.PurgedActivityProjection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs purge jobs against mocked repositories: chunks repeat while they come back full, a job starts again from
+ * the step it recorded instead of from the beginning, and purged activity leaves the in-memory services.
+ */
+public class DeletionJobServiceTest {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final int JOB_ID = 7;
+    private static final int POST_ID = 42;
+    private static final int USER_ID = 5;
+    private static final int COMMENT_ID = 300;
+    private static final int NOTIFICATION_ID = 80;
+    private static final LocalDateTime REACTED_AT = LocalDateTime.of(2024, 5, 1, 10, 0);
+    private static final LocalDateTime COMMENTED_AT = LocalDateTime.of(2024, 5, 1, 11, 0);
+
+    private final DeletionJobRepository deletionJobRepository = mock(DeletionJobRepository.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final ReactionRepository reactionRepository = mock(ReactionRepository.class);
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final ImagePostRepository imagePostRepository = mock(ImagePostRepository.class);
+    private final PostDescriptionRepository postDescriptionRepository = mock(PostDescriptionRepository.class);
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final PostSearchService postSearchService = mock(PostSearchService.class);
+    private final TrendingPostService trendingPostService = mock(TrendingPostService.class);
+
+    private DeletionJobService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new DeletionJobService(mock(PlatformTransactionManager.class), CHUNK_SIZE);
+        ReflectionTestUtils.setField(service, "deletionJobRepository", deletionJobRepository);
+        ReflectionTestUtils.setField(service, "postRepository", postRepository);
+        ReflectionTestUtils.setField(service, "reactionRepository", reactionRepository);
+        ReflectionTestUtils.setField(service, "commentRepository", commentRepository);
+        ReflectionTestUtils.setField(service, "imagePostRepository", imagePostRepository);
+        ReflectionTestUtils.setField(service, "postDescriptionRepository", postDescriptionRepository);
+        ReflectionTestUtils.setField(service, "notificationRepository", notificationRepository);
+        ReflectionTestUtils.setField(service, "relationshipRepository", mock(RelationshipRepository.class));
+        ReflectionTestUtils.setField(service, "imageProfileRepository", mock(ImageProfileRepository.class));
+        ReflectionTestUtils.setField(service, "profileRepository", mock(ProfileRepository.class));
+        ReflectionTestUtils.setField(service, "userRepository", mock(UserRepository.class));
+        ReflectionTestUtils.setField(service, "authenticationRepository", mock(AuthenticationRepository.class));
+        ReflectionTestUtils.setField(service, "postSearchService", postSearchService);
+        ReflectionTestUtils.setField(service, "trendingPostService", trendingPostService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void purgeRepeatsChunksWhileTheyAreFull() {
+        givenJobAt(Step.REACTIONS);
+        when(reactionRepository.deleteChunkByPostId(POST_ID, CHUNK_SIZE)).thenReturn(2, 2, 1);
+
+        service.run(JOB_ID);
+
+        verify(reactionRepository, times(3)).deleteChunkByPostId(POST_ID, CHUNK_SIZE);
+        verify(deletionJobRepository, times(2)).recordProgress(eq(JOB_ID), eq("REACTIONS"), eq(2), any());
+        verify(deletionJobRepository).recordProgress(eq(JOB_ID), eq("REACTIONS"), eq(1), any());
+        // Empty steps take a single chunk each
+        verify(commentRepository).deleteChunkByPostId(POST_ID, CHUNK_SIZE);
+        verify(deletionJobRepository).markFinished(eq(JOB_ID), any());
+    }
+
+    @Test
+    public void interruptedJobResumesFromItsRecordedStep() {
+        givenJobAt(Step.DESCRIPTION);
+
+        service.run(JOB_ID);
+
+        verify(reactionRepository, never()).deleteChunkByPostId(anyInt(), anyInt());
+        verify(commentRepository, never()).deleteChunkByPostId(anyInt(), anyInt());
+        verify(imagePostRepository, never()).deleteChunkByPostId(anyInt(), anyInt());
+        InOrder order = inOrder(postDescriptionRepository, notificationRepository, postRepository, deletionJobRepository);
+        order.verify(postDescriptionRepository).deleteChunkByPostId(POST_ID, CHUNK_SIZE);
+        order.verify(notificationRepository).deleteChunkByPostId(POST_ID, CHUNK_SIZE);
+        order.verify(postRepository).deletePost(POST_ID);
+        order.verify(deletionJobRepository).markFinished(eq(JOB_ID), any());
+    }
+
+    @Test
+    public void failedChunkLeavesTheJobPendingAtItsStep() {
+        givenJobAt(Step.COMMENTS);
+        when(commentRepository.deleteChunkByPostId(POST_ID, CHUNK_SIZE)).thenThrow(new IllegalStateException("Lock wait timeout"));
+
+        service.run(JOB_ID);
+
+        verify(imagePostRepository, never()).deleteChunkByPostId(anyInt(), anyInt());
+        verify(deletionJobRepository, never()).markFinished(anyInt(), any());
+    }
+
+    @Test
+    public void finishedJobIsNotRunAgain() {
+        DeletionJobModel job = givenJobAt(Step.TARGET);
+        job.setFinishedDate(job.getCreatedDate());
+
+        service.run(JOB_ID);
+
+        verify(postRepository, never()).deletePost(anyInt());
+        verify(deletionJobRepository, never()).markFinished(anyInt(), any());
+    }
+
+    @Test
+    public void purgedActivityOfAUserLeavesTheInMemoryServices() {
+        givenJobAt(Type.USER, USER_ID, Step.REACTIONS);
+        when(reactionRepository.getChunkByUserId(USER_ID, CHUNK_SIZE)).thenReturn(List.of(activity(null, REACTED_AT)));
+        when(reactionRepository.deleteByUserIdAndPostIds(USER_ID, List.of(POST_ID))).thenReturn(1);
+        when(commentRepository.getChunkByUserId(USER_ID, CHUNK_SIZE)).thenReturn(List.of(activity(COMMENT_ID, COMMENTED_AT)));
+        when(commentRepository.deleteByIds(List.of(COMMENT_ID))).thenReturn(1);
+        when(notificationRepository.getNotificationIdsByActorId(USER_ID, CHUNK_SIZE)).thenReturn(List.of(NOTIFICATION_ID));
+        when(notificationRepository.deleteActor(USER_ID, List.of(NOTIFICATION_ID))).thenReturn(1);
+
+        service.run(JOB_ID);
+
+        verify(trendingPostService).reactionRemoved(POST_ID, REACTED_AT);
+        verify(postSearchService).commentDeleted(COMMENT_ID);
+        verify(trendingPostService).commentRemoved(POST_ID, COMMENTED_AT);
+        verify(notificationRepository).deleteChunkByUserId(USER_ID, CHUNK_SIZE);
+        verify(notificationRepository).deleteChunkByLastActorId(USER_ID, CHUNK_SIZE);
+        verify(notificationRepository).recountActors(List.of(NOTIFICATION_ID));
+        verify(deletionJobRepository).markFinished(eq(JOB_ID), any());
+    }
+
+    private DeletionJobModel givenJobAt(Step step) {
+        return givenJobAt(Type.POST, POST_ID, step);
+    }
+
+    private DeletionJobModel givenJobAt(Type type, int targetId, Step step) {
+        DeletionJobModel job = new DeletionJobModel(type, targetId);
+        job.setIdDeletionJob(JOB_ID);
+        job.setStep(step);
+        when(deletionJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        return job;
+    }
+
+    private static PurgedActivityProjection activity(Integer commentId, LocalDateTime date) {
+        return new PurgedActivityProjection() {
+            @Override
+            public Integer getIdComment() {
+                return commentId;
+            }
+
+            @Override
+            public Integer getIdPost() {
+                return POST_ID;
+            }
+
+            @Override
+            public LocalDateTime getDate() {
+                return date;
+            }
+        };
+    }
+}
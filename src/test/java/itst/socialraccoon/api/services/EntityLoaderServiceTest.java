@@ -0,0 +1,133 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.repositories.AuthenticationRepository;
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements behind post and user lookups: each row is read once per request, and an existence
+ * check followed by the real work is a single lookup. Rows marked as deleted are not found.
+ */
+@SpringBootTest
+@ActiveProfiles("statistics")
+@AutoConfigureMockMvc
+@WithMockUser(username = "pedro@teziutlan.tecnm.mx", password = "123Yy456")
+public class EntityLoaderServiceTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthenticationRepository authenticationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void postsAndUsersAreLoadedOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        postService.findById(2);
+        userService.findById(1);
+        postService.findById(2);
+        userService.findById(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void lookupsOutsideARequestAreNotRemembered() {
+        postService.findById(2);
+        postService.findById(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void missingPostIsReportedByTheLookup() {
+        assertThatThrownBy(() -> postService.findById(0))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Post not found");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void reactionCountChecksThePostWithOneLookup() throws Exception {
+        mvc.perform(get("/reactions/count/2").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void imagesOfAPostCheckThePostWithOneLookup() throws Exception {
+        mvc.perform(get("/posts/images/2?page=0&size=10").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    public void hiddenPostIsNotFound() {
+        postRepository.markDeleted(2, LocalDateTime.now().withNano(0));
+        assertThatThrownBy(() -> postService.findById(2))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Post not found");
+    }
+
+    @Test
+    @Transactional
+    public void hiddenUserIsNotFoundAndCannotSignIn() {
+        // Read without loading the user, which would keep its visible state in the persistence context
+        String email = authenticationRepository.findById(userRepository.getAuthenticationId(1)).orElseThrow().getEmail();
+        userRepository.markDeleted(1, LocalDateTime.now().withNano(0));
+        assertThatThrownBy(() -> userService.findById(1))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("User not found");
+        assertThat(authenticationRepository.findByEmail(email)).isNull();
+    }
+}
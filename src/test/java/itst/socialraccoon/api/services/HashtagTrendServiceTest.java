@@ -0,0 +1,57 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.services.HashtagTrendService.Window;
+import itst.socialraccoon.api.utils.HashtagExtractor;
+import itst.socialraccoon.api.utils.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashtagTrendServiceTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final HashtagTrendService service = new HashtagTrendService(clock);
+
+    @Test
+    public void extractsNormalizedDistinctTags() {
+        assertThat(HashtagExtractor.extract("Convocatoria #Becas 2024 #becas #Teziutlán #123 correo@#no"))
+                .containsExactly("becas", "teziutlan");
+    }
+
+    @Test
+    public void ranksTagsByPostsInEachWindow() {
+        for (int i = 0; i < 5; i++) {
+            service.descriptionChanged(null, "#becas");
+        }
+        service.descriptionChanged(null, "#futbol #becas");
+        service.descriptionChanged(null, "#futbol");
+
+        List<Map.Entry<String, Integer>> trending = service.getTrending(Window.HOUR, 10);
+        assertThat(trending).extracting(Map.Entry::getKey).containsExactly("becas", "futbol");
+        assertThat(trending.get(0).getValue()).isEqualTo(6);
+    }
+
+    @Test
+    public void oldCountsLeaveShortWindowsFirst() {
+        service.descriptionChanged(null, "#examen");
+        clock.advance(Duration.ofHours(2));
+        service.descriptionChanged(null, "#vacaciones");
+
+        assertThat(service.getTrending(Window.HOUR, 10)).extracting(Map.Entry::getKey).containsExactly("vacaciones");
+        assertThat(service.getTrending(Window.DAY, 10)).extracting(Map.Entry::getKey)
+                .containsExactlyInAnyOrder("examen", "vacaciones");
+    }
+
+    @Test
+    public void editingADescriptionOnlyCountsNewTags() {
+        service.descriptionChanged(null, "#becas");
+        service.descriptionChanged("#becas", "#becas #cafeteria");
+
+        assertThat(service.getTrending(Window.HOUR, 10))
+                .containsExactly(Map.entry("becas", 1), Map.entry("cafeteria", 1));
+    }
+}
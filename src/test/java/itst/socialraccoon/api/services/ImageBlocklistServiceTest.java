@@ -0,0 +1,52 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.repositories.BlockedImageHashRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImageBlocklistServiceTest {
+
+    private static final long HASH = 0x0F0F_0F0F_0F0F_0F0FL;
+
+    private final BlockedImageHashRepository repository = mock(BlockedImageHashRepository.class);
+    private final ImageBlocklistService service = new ImageBlocklistService();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(service, "blockedImageHashRepository", repository);
+        ReflectionTestUtils.setField(service, "maxHashDistance", 6);
+    }
+
+    @Test
+    public void blockedHashIsStoredOnce() {
+        service.block(HASH);
+        service.block(HASH);
+
+        verify(repository, times(1)).insertIfMissing(eq(HASH), any(LocalDateTime.class));
+        assertThat(service.isBlocked(HASH ^ 0b111)).isTrue();
+        assertThat(service.getBlockedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void hashIsNotBlockedInMemoryWhenStoringItFails() {
+        when(repository.insertIfMissing(anyLong(), any(LocalDateTime.class))).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> service.block(HASH)).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(service.isBlocked(HASH)).isFalse();
+    }
+}
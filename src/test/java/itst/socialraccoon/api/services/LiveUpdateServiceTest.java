@@ -0,0 +1,212 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.dtos.LiveUpdateDTO;
+import itst.socialraccoon.api.events.FollowChangedEvent;
+import itst.socialraccoon.api.events.PostCreatedEvent;
+import itst.socialraccoon.api.events.ReactionCountChangedEvent;
+import itst.socialraccoon.api.repositories.RelationshipRepository;
+import itst.socialraccoon.api.utils.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the scheduler by hand: events are merged until the next push, a client that falls too far behind is
+ * asked to reload, and one whose write stays stuck is dropped. Sends only run when the test lets them.
+ */
+public class LiveUpdateServiceTest {
+
+    private static final int USER_ID = 1;
+    private static final int FOLLOWED_ID = 7;
+    private static final int WATCHED_POST_ID = 3;
+    private static final int MAX_PENDING_POSTS = 3;
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+    private static final Duration MAX_LAG = Duration.ofSeconds(30);
+
+    private final MutableClock clock = new MutableClock();
+    private final QueuedExecutor sender = new QueuedExecutor();
+    private final RelationshipRepository relationshipRepository = mock(RelationshipRepository.class);
+
+    private LiveUpdateService service;
+    private RecordingEmitter emitter;
+
+    @BeforeEach
+    public void setUp() {
+        service = new LiveUpdateService(Duration.ofMinutes(30), HEARTBEAT, MAX_LAG, MAX_PENDING_POSTS, 10, sender, clock);
+        ReflectionTestUtils.setField(service, "relationshipRepository", relationshipRepository);
+        when(relationshipRepository.getFollowedUserIds(USER_ID)).thenReturn(List.of(FOLLOWED_ID));
+        emitter = new RecordingEmitter();
+        service.subscribe(emitter, USER_ID, List.of(WATCHED_POST_ID));
+    }
+
+    @Test
+    public void mergesEventsUntilTheNextPush() {
+        service.onPostCreated(new PostCreatedEvent(10, FOLLOWED_ID));
+        service.onPostCreated(new PostCreatedEvent(11, 8));
+        service.onPostCreated(new PostCreatedEvent(12, FOLLOWED_ID));
+        service.onReactionCountChanged(new ReactionCountChangedEvent(WATCHED_POST_ID, 1));
+        service.onReactionCountChanged(new ReactionCountChangedEvent(WATCHED_POST_ID, 1));
+        service.onReactionCountChanged(new ReactionCountChangedEvent(4, 1));
+
+        pushAndSend();
+
+        assertThat(emitter.updates).hasSize(1);
+        LiveUpdateDTO update = emitter.updates.get(0);
+        assertThat(update.getNewPostIds()).containsExactly(10, 12);
+        assertThat(update.getReactionDeltas()).isEqualTo(Map.of(WATCHED_POST_ID, 2));
+        assertThat(update.isResync()).isFalse();
+    }
+
+    @Test
+    public void changesThatCancelOutSendNothing() {
+        service.onReactionCountChanged(new ReactionCountChangedEvent(WATCHED_POST_ID, 1));
+        service.onReactionCountChanged(new ReactionCountChangedEvent(WATCHED_POST_ID, -1));
+
+        pushAndSend();
+
+        assertThat(emitter.updates).isEmpty();
+        assertThat(emitter.heartbeats).isZero();
+    }
+
+    @Test
+    public void clientTooFarBehindIsAskedToReload() {
+        for (int postId = 10; postId < 10 + MAX_PENDING_POSTS + 2; postId++) {
+            service.onPostCreated(new PostCreatedEvent(postId, FOLLOWED_ID));
+        }
+        pushAndSend();
+        service.onPostCreated(new PostCreatedEvent(20, FOLLOWED_ID));
+        pushAndSend();
+
+        assertThat(emitter.updates).hasSize(2);
+        assertThat(emitter.updates.get(0).isResync()).isTrue();
+        assertThat(emitter.updates.get(0).getNewPostIds()).isEmpty();
+        assertThat(emitter.updates.get(1).isResync()).isFalse();
+        assertThat(emitter.updates.get(1).getNewPostIds()).containsExactly(20);
+    }
+
+    @Test
+    public void stuckClientIsDroppedAndClosedOnceTheWriteReturns() {
+        service.onPostCreated(new PostCreatedEvent(10, FOLLOWED_ID));
+        service.push();
+        clock.advance(MAX_LAG.plusSeconds(1));
+        service.push();
+
+        assertThat(service.getSubscriberCount()).isZero();
+        assertThat(emitter.completed).isFalse();
+
+        service.onPostCreated(new PostCreatedEvent(11, FOLLOWED_ID));
+
+        sender.runAll();
+
+        assertThat(emitter.updates).extracting(LiveUpdateDTO::getNewPostIds).containsExactly(List.of(10));
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    public void idleClientGetsAHeartbeat() {
+        pushAndSend();
+        assertThat(emitter.heartbeats).isZero();
+
+        clock.advance(HEARTBEAT.plusSeconds(1));
+        pushAndSend();
+
+        assertThat(emitter.heartbeats).isEqualTo(1);
+        assertThat(emitter.updates).isEmpty();
+    }
+
+    @Test
+    public void followsMadeWhileConnectedChangeTheAuthors() {
+        service.onFollowChanged(new FollowChangedEvent(8, USER_ID, true));
+        service.onFollowChanged(new FollowChangedEvent(FOLLOWED_ID, USER_ID, false));
+        service.onFollowChanged(new FollowChangedEvent(9, 2, true));
+
+        service.onPostCreated(new PostCreatedEvent(10, FOLLOWED_ID));
+        service.onPostCreated(new PostCreatedEvent(11, 8));
+        service.onPostCreated(new PostCreatedEvent(12, 9));
+        pushAndSend();
+
+        assertThat(emitter.updates).extracting(LiveUpdateDTO::getNewPostIds).containsExactly(List.of(11));
+    }
+
+    private void pushAndSend() {
+        service.push();
+        sender.runAll();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<LiveUpdateDTO> updates = new ArrayList<>();
+        private int heartbeats;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            List<Object> data = builder.build().stream().map(DataWithMediaType::getData).toList();
+            data.stream()
+                    .filter(LiveUpdateDTO.class::isInstance)
+                    .map(LiveUpdateDTO.class::cast)
+                    .forEach(updates::add);
+            if (data.stream().anyMatch(item -> item.toString().startsWith(":heartbeat"))) {
+                heartbeats++;
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private static final class QueuedExecutor extends AbstractExecutorService {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.copyOf(tasks);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
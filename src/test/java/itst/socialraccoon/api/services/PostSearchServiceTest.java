@@ -0,0 +1,51 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.models.PostModel;
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.utils.PostSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PostSearchServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostSearchService service = new PostSearchService();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(service, "postRepository", postRepository);
+        PostSearchIndex index = (PostSearchIndex) ReflectionTestUtils.getField(service, "index");
+        index.indexDescription(1, "Convocatoria de becas");
+        index.indexDescription(2, "Resultados de becas");
+    }
+
+    @Test
+    public void pageSizeIsCapped() {
+        assertThatThrownBy(() -> service.search("becas", 0, 51)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search("becas", 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void pagePastTheIntRangeIsRejected() {
+        assertThatThrownBy(() -> service.search("becas", Integer.MAX_VALUE / 50 + 1, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void pagePastTheResultsIsEmptyButKeepsTheTotal() {
+        Page<PostModel> page = service.search("becas", 1_000, 50);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        verify(postRepository).findAllByIdInOrder(List.of());
+    }
+}
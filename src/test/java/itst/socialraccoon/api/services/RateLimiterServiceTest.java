@@ -0,0 +1,93 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.annotations.RateLimited.Category;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimiterServiceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimiterService limiter = new RateLimiterService(Map.of(
+            Category.COMMENT, new RateLimiterService.Limit(3, Duration.ofSeconds(30)),
+            Category.REACTION, new RateLimiterService.Limit(1_000, Duration.ofHours(1))
+    ), 4, now::get);
+
+    @Test
+    public void burstIsAllowedThenCallerMustWaitForRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ana", Category.COMMENT)).isZero();
+        }
+        assertThat(limiter.tryAcquire("ana", Category.COMMENT)).isEqualTo(10);
+        assertThat(limiter.tryAcquire("luis", Category.COMMENT)).isZero();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire("ana", Category.COMMENT)).isZero();
+        assertThat(limiter.tryAcquire("ana", Category.COMMENT)).isPositive();
+    }
+
+    @Test
+    public void concurrentCallersNeverExceedCapacity() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int granted = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire("ana", Category.REACTION) == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get(30, TimeUnit.SECONDS);
+            }
+            assertThat(granted).isEqualTo(1_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void idleBucketsArePurgedWhenTheMapIsFull() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("user" + i, Category.COMMENT);
+        }
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        limiter.tryAcquire("late", Category.COMMENT);
+
+        assertThat(limiter.getBucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void bucketsStillRefillingAreNeverDropped() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("user" + i, Category.COMMENT);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertThat(limiter.tryAcquire("late", Category.COMMENT)).isPositive();
+        assertThat(limiter.tryAcquire("late", Category.COMMENT)).isPositive();
+        assertThat(limiter.getBucketCount()).isEqualTo(4);
+        assertThat(limiter.tryAcquire("user0", Category.COMMENT)).isZero();
+        assertThat(limiter.tryAcquire("user0", Category.COMMENT)).isZero();
+        assertThat(limiter.tryAcquire("user0", Category.COMMENT)).isPositive();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(limiter.tryAcquire("late", Category.COMMENT)).isZero();
+    }
+}
@@ -0,0 +1,38 @@
+package itst.socialraccoon.api.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextModerationServiceTest {
+
+    private final TextModerationService service = new TextModerationService(
+            List.of("pendejo", "puta", "hijo de puta", "cabrón"));
+
+    @Test
+    public void detectsBlockedTermsIgnoringCaseAndAccents() {
+        assertThat(service.findBlockedTerm("Eres un PÉNDEJO!!")).isEqualTo("pendejo");
+        assertThat(service.findBlockedTerm("Cabron")).isEqualTo("cabron");
+        assertThat(service.findBlockedTerm("hijo   de  PUTA")).isEqualTo("hijo de puta");
+    }
+
+    @Test
+    public void undoesCommonSubstitutionsAndStretchedLetters() {
+        assertThat(service.isTextSafe("p3nd3j0")).isFalse();
+        assertThat(service.isTextSafe("puuuuta madre")).isFalse();
+    }
+
+    @Test
+    public void onlyMatchesWholeWords() {
+        assertThat(service.isTextSafe("La computadora del laboratorio")).isTrue();
+        assertThat(service.isTextSafe("Ganamos la disputa del torneo")).isTrue();
+    }
+
+    @Test
+    public void acceptsEmptyText() {
+        assertThat(service.isTextSafe(null)).isTrue();
+        assertThat(service.isTextSafe("   ")).isTrue();
+    }
+}
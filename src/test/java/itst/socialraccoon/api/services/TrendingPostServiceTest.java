@@ -0,0 +1,45 @@
+package itst.socialraccoon.api.services;
+
+import itst.socialraccoon.api.repositories.PostRepository;
+import itst.socialraccoon.api.utils.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class TrendingPostServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final TrendingPostService service = new TrendingPostService(Duration.ofHours(6), 100, 1.0, 3.0, new MutableClock());
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(service, "postRepository", postRepository);
+        service.reactionAdded(1);
+        service.commentAdded(2);
+    }
+
+    @Test
+    public void postsAreRankedByWeightedActivity() {
+        service.getTrending(0, 10);
+
+        verify(postRepository).findAllByIdInOrder(List.of(2, 1));
+    }
+
+    @Test
+    public void pageSizeIsCapped() {
+        assertThatThrownBy(() -> service.getTrending(0, 51)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void pageWhoseOffsetWrapsAroundIsRejected() {
+        // 107374183 * 20 is just past Integer.MAX_VALUE and used to wrap to a negative offset, i.e. the first page
+        assertThatThrownBy(() -> service.getTrending(107_374_183, 20)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
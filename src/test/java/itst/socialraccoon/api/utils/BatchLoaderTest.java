@@ -0,0 +1,58 @@
+package itst.socialraccoon.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchLoaderTest {
+
+    private final List<Set<Integer>> batches = new ArrayList<>();
+    private final BatchLoader<Integer, String> loader = new BatchLoader<>(keys -> {
+        batches.add(Set.copyOf(keys));
+        return keys.stream().filter(key -> key > 0).collect(Collectors.toMap(Function.identity(), key -> "v" + key));
+    }, "missing");
+
+    @Test
+    public void queuedKeysAreLoadedInOneBatchOnFirstRead() {
+        loader.loadAll(List.of(1, 2, 3));
+
+        assertThat(loader.get(2)).isEqualTo("v2");
+        assertThat(loader.get(1)).isEqualTo("v1");
+        assertThat(loader.get(3)).isEqualTo("v3");
+        assertThat(batches).containsExactly(Set.of(1, 2, 3));
+    }
+
+    @Test
+    public void loadedKeysAreNotLoadedAgain() {
+        loader.loadAll(List.of(1, 2));
+        loader.dispatch();
+        loader.loadAll(List.of(2, 3));
+
+        assertThat(loader.get(3)).isEqualTo("v3");
+        assertThat(loader.get(1)).isEqualTo("v1");
+        assertThat(batches).containsExactly(Set.of(1, 2), Set.of(3));
+        assertThat(loader.getBatchCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void keysLeftOutByTheBatchGetTheMissingValue() {
+        loader.loadAll(List.of(0, 1));
+
+        assertThat(loader.get(0)).isEqualTo("missing");
+        assertThat(loader.get(0)).isEqualTo("missing");
+        assertThat(batches).containsExactly(Set.of(0, 1));
+    }
+
+    @Test
+    public void readingAnUnqueuedKeyLoadsItAlone() {
+        assertThat(loader.get(5)).isEqualTo("v5");
+        assertThat(loader.get(5)).isEqualTo("v5");
+        assertThat(batches).containsExactly(Set.of(5));
+    }
+}
@@ -0,0 +1,34 @@
+package itst.socialraccoon.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedTimelineTest {
+
+    @Test
+    public void keepsTheNewestIdsFirst() {
+        BoundedTimeline timeline = new BoundedTimeline(3);
+        timeline.add(1, 10);
+        timeline.add(3, 30);
+        timeline.add(2, 20);
+        timeline.add(4, 40);
+        timeline.add(0, 5);
+
+        assertThat(timeline.size()).isEqualTo(3);
+        assertThat(timeline.page(0, 10)).containsExactly(4, 3, 2);
+        assertThat(timeline.page(1, 1)).containsExactly(3);
+    }
+
+    @Test
+    public void addingTwiceAndRemovingKeepTheTimelineConsistent() {
+        BoundedTimeline timeline = new BoundedTimeline(3);
+        timeline.add(1, 10);
+        timeline.add(1, 10);
+        timeline.add(2, 20);
+
+        assertThat(timeline.remove(2)).isTrue();
+        assertThat(timeline.remove(2)).isFalse();
+        assertThat(timeline.page(0, 10)).containsExactly(1);
+    }
+}
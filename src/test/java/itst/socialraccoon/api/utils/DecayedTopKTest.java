@@ -0,0 +1,60 @@
+package itst.socialraccoon.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class DecayedTopKTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Test
+    public void recentActivityOutranksOlderActivity() {
+        DecayedTopK topK = new DecayedTopK(Duration.ofHours(1), 10, 0);
+        topK.add(1, 3, 0);
+        topK.add(2, 1, 2 * HOUR);
+
+        // 3 events two half-lives ago are worth 0.75 now
+        assertThat(topK.page(0, 10)).containsExactly(2, 1);
+        assertThat(topK.score(1, 2 * HOUR)).isCloseTo(0.75, within(1e-9));
+    }
+
+    @Test
+    public void removedEventsAndPostsLeaveTheRanking() {
+        DecayedTopK topK = new DecayedTopK(Duration.ofHours(1), 10, 0);
+        topK.add(1, 1, HOUR);
+        topK.add(2, 2, HOUR);
+        topK.add(2, -2, HOUR);
+        topK.add(3, 1, HOUR);
+        topK.remove(3);
+
+        assertThat(topK.page(0, 10)).containsExactly(1);
+        assertThat(topK.score(2, HOUR)).isZero();
+    }
+
+    @Test
+    public void keepsOnlyTheHighestScores() {
+        DecayedTopK topK = new DecayedTopK(Duration.ofHours(1), 2, 0);
+        topK.add(1, 1, 0);
+        topK.add(2, 2, 0);
+        topK.add(3, 3, 0);
+
+        assertThat(topK.size()).isEqualTo(2);
+        assertThat(topK.page(0, 10)).containsExactly(3, 2);
+        assertThat(topK.page(1, 10)).containsExactly(2);
+    }
+
+    @Test
+    public void rescalingKeepsTheOrder() {
+        DecayedTopK topK = new DecayedTopK(Duration.ofHours(1), 10, 0);
+        topK.add(1, 2, 0);
+        topK.add(2, 1, 0);
+        topK.add(3, 1, 100 * HOUR);
+
+        assertThat(topK.page(0, 10)).containsExactly(3, 1, 2);
+        assertThat(topK.score(3, 100 * HOUR)).isCloseTo(1, within(1e-9));
+    }
+}
@@ -0,0 +1,64 @@
+package itst.socialraccoon.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiringCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofSeconds(10), now::get);
+
+    @Test
+    public void entriesExpireAfterTimeToLive() {
+        cache.put("a", "1");
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.get("a")).isEqualTo("1");
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvictedWhenFull() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void nullLoaderResultsAreNotCached() {
+        assertThat(cache.get("a", key -> null)).isNull();
+        assertThat(cache.get("a", key -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get("a", key -> "reloaded")).isEqualTo("loaded");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void valuesLoadedAcrossAnInvalidationAreNotCached() {
+        assertThat(cache.get("a", key -> {
+            cache.invalidate(key);
+            return "stale";
+        })).isEqualTo("stale");
+        assertThat(cache.get("a")).isNull();
+
+        assertThat(cache.get("b", key -> {
+            cache.invalidateAll();
+            return "stale";
+        })).isEqualTo("stale");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("b", key -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get("b")).isEqualTo("fresh");
+    }
+}
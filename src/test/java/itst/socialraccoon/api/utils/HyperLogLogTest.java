@@ -0,0 +1,46 @@
+package itst.socialraccoon.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void repeatedViewersAreCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertThat(sketch.offer("juan@teziutlan.tecnm.mx")).isTrue();
+        assertThat(sketch.offer("juan@teziutlan.tecnm.mx")).isFalse();
+        sketch.offer("maria@teziutlan.tecnm.mx");
+
+        assertThat(sketch.estimate()).isEqualTo(2);
+    }
+
+    @Test
+    public void largeCountsStayWithinAFewPercentAndFourKilobytes() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.offer("user" + i);
+        }
+
+        assertThat(sketch.estimate()).isCloseTo(100_000L, withinPercentage(5));
+        assertThat(sketch.toBytes().length).isLessThanOrEqualTo(4097);
+    }
+
+    @Test
+    public void sketchSurvivesSerialization() {
+        HyperLogLog small = new HyperLogLog();
+        HyperLogLog large = new HyperLogLog();
+        for (int i = 0; i < 5_000; i++) {
+            large.offer("user" + i);
+            if (i < 100) {
+                small.offer("user" + i);
+            }
+        }
+
+        assertThat(HyperLogLog.fromBytes(small.toBytes()).estimate()).isEqualTo(small.estimate());
+        assertThat(HyperLogLog.fromBytes(large.toBytes()).estimate()).isEqualTo(large.estimate());
+        assertThat(small.toBytes().length).isLessThan(large.toBytes().length);
+    }
+}
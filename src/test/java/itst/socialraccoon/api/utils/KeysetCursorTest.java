@@ -0,0 +1,26 @@
+package itst.socialraccoon.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void cursorSurvivesEncoding() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 10, 10, 10, 0, 5), 42);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    public void missingCursorMeansFirstPageAndGarbageIsRejected() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("")).isNull();
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,53 @@
+package itst.socialraccoon.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PerceptualHashTest {
+
+    @Test
+    public void resizedImageKeepsANearbyHash() {
+        BufferedImage original = gradient(400, 300);
+        BufferedImage resized = new BufferedImage(133, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        graphics.drawImage(original, 0, 0, 133, 100, null);
+        graphics.dispose();
+
+        long a = PerceptualHash.dHash(original);
+        long b = PerceptualHash.dHash(resized);
+        assertThat(PerceptualHash.distance(a, b)).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    public void treeFindsHashesWithinRadiusOnly() {
+        HammingBKTree tree = new HammingBKTree();
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000; i++) {
+            tree.add(random.nextLong());
+        }
+        long blocked = 0x0F0F_0F0F_0F0F_0F0FL;
+        assertThat(tree.add(blocked)).isTrue();
+        assertThat(tree.add(blocked)).isFalse();
+
+        assertThat(tree.containsWithin(blocked ^ 0b111L, 3)).isTrue();
+        assertThat(tree.containsWithin(blocked ^ 0b1111L, 3)).isFalse();
+        assertThat(tree.size()).isEqualTo(1_001);
+    }
+
+    private static BufferedImage gradient(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int value = (int) (255 * Math.abs(Math.sin(x / 37.0) * Math.cos(y / 23.0)));
+                image.setRGB(x, y, new Color(value, 255 - value, value / 2).getRGB());
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,76 @@
+package itst.socialraccoon.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PostSearchIndexTest {
+
+    private final PostSearchIndex index = new PostSearchIndex();
+
+    @Test
+    public void matchesIgnoringAccentsPluralsAndStopWords() {
+        index.indexDescription(1, "Los camiones del Tecnológico llegan tarde");
+        index.indexDescription(2, "Vendo camión usado");
+        index.indexDescription(3, "Examen de cálculo mañana");
+
+        assertThat(index.search("camion")).containsExactly(2, 1);
+        assertThat(index.search("CAMIONES tecnologico")).containsExactly(1);
+        assertThat(index.search("calculo manana")).containsExactly(3);
+        assertThat(index.search("de")).isEmpty();
+    }
+
+    @Test
+    public void lastWordMatchesAsPrefix() {
+        index.indexDescription(1, "Programación orientada a objetos");
+        index.indexDescription(2, "Programa de becas");
+
+        assertThat(index.search("progra")).containsExactly(2, 1);
+        assertThat(index.search("orientada obj")).containsExactly(1);
+    }
+
+    @Test
+    public void prefixExpandsToTheMostFrequentCompletions() {
+        for (int i = 0; i < 100; i++) {
+            index.indexDescription(i + 1, "tema" + i);
+        }
+        index.indexDescription(200, "Temario del parcial");
+        index.indexDescription(201, "Temario de la materia");
+
+        assertThat(index.search("tema")).startsWith(201, 200).hasSize(65);
+    }
+
+    @Test
+    public void commentsFindTheirPost() {
+        index.indexDescription(5, "Foto del evento");
+        index.indexComment(10, 5, "Qué buena conferencia");
+
+        assertThat(index.search("conferencia")).containsExactly(5);
+        index.removeComment(10);
+        assertThat(index.search("conferencia")).isEmpty();
+    }
+
+    @Test
+    public void updatesAndDeletesReplacePreviousText() {
+        index.indexDescription(1, "Biblioteca abierta");
+        index.indexDescription(1, "Biblioteca cerrada");
+
+        assertThat(index.search("abierta")).isEmpty();
+        assertThat(index.search("cerrada")).containsExactly(1);
+
+        index.removePost(1);
+        index.indexDescriptionIfAbsent(1, "Biblioteca cerrada");
+        assertThat(index.search("biblioteca")).isEmpty();
+    }
+
+    @Test
+    public void compactionKeepsLiveDocuments() {
+        for (int i = 0; i < 5_000; i++) {
+            index.indexDescription(1, "texto version " + i);
+        }
+        index.indexDescription(2, "texto estable");
+
+        assertThat(index.search("texto")).containsExactly(2, 1);
+        assertThat(index.search("version")).containsExactly(1);
+    }
+}
@@ -0,0 +1,136 @@
+package itst.socialraccoon.api.validators;
+
+import itst.socialraccoon.api.configuration.FileValidatorConfig;
+import itst.socialraccoon.api.exceptions.InappropriateContentException;
+import itst.socialraccoon.api.repositories.BlockedImageHashRepository;
+import itst.socialraccoon.api.services.AzureContentModeratorService;
+import itst.socialraccoon.api.services.ImageBlocklistService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FileValidatorTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 200;
+
+    private final MultipartFile png = new MockMultipartFile("image", "image.png", "image/png", new byte[]{1});
+    private final MultipartFile pdf = new MockMultipartFile("image", "file.pdf", "application/pdf", new byte[]{1});
+
+    @Test
+    public void runsStrategiesInOrderAndStopsAtFirstRejection() {
+        AtomicInteger secondStrategyCalls = new AtomicInteger();
+        FileValidator validator = new FileValidator(
+                new ImageFileValidationStrategy(),
+                file -> secondStrategyCalls.incrementAndGet() > 0);
+
+        assertThat(validator.validate(pdf)).isFalse();
+        assertThat(secondStrategyCalls).hasValue(0);
+        assertThat(validator.validate(png)).isTrue();
+        assertThat(secondStrategyCalls).hasValue(1);
+    }
+
+    @Test
+    public void strategiesCannotBeChangedAfterConstruction() {
+        List<FileValidationStrategy> strategies = new ArrayList<>(List.of(new ImageFileValidationStrategy()));
+        FileValidator validator = new FileValidator(strategies);
+        strategies.add(file -> false);
+
+        assertThat(validator.getStrategies()).hasSize(1);
+        assertThat(validator.validate(png)).isTrue();
+        assertThatThrownBy(() -> validator.getStrategies().add(file -> false))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void sharedModerationPipelineGivesConsistentResultsUnderConcurrentUse() throws Exception {
+        // The same strategy instances the post image pipeline gets from FileValidatorConfig
+        ImageFileValidationStrategy imageType = new ImageFileValidationStrategy();
+        ImageBlocklistService blocklistService = new ImageBlocklistService();
+        ReflectionTestUtils.setField(blocklistService, "blockedImageHashRepository", mock(BlockedImageHashRepository.class));
+        ReflectionTestUtils.setField(blocklistService, "maxHashDistance", 6);
+        AzureContentModeratorService moderator = mock(AzureContentModeratorService.class);
+        MultipartFile safe = png("safe.png", false);
+        MultipartFile unsafe = png("unsafe.png", true);
+        when(moderator.isImageSafe(any())).thenAnswer(call -> call.getArgument(0) == safe);
+        FileValidator validator = new FileValidatorConfig().postImageValidator(
+                new PerceptualHashValidationStrategy(imageType, blocklistService),
+                new ContentModerationValidationStrategy(imageType, moderator, blocklistService));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int mismatches = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        MultipartFile file = i % 2 == 0 ? safe : unsafe;
+                        boolean accepted;
+                        try {
+                            accepted = validator.validate(file);
+                        } catch (InappropriateContentException e) {
+                            accepted = false;
+                        }
+                        if (accepted != (file == safe)) {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(blocklistService.getBlockedCount()).isEqualTo(1);
+        // Once a thread has blocked the image, its re-uploads are refused by the hash without asking the moderator
+        verify(moderator, atMost(THREADS)).isImageSafe(unsafe);
+        verify(moderator, times(THREADS * ITERATIONS / 2)).isImageSafe(safe);
+    }
+
+    /**
+     * A grey gradient; the two directions have perceptual hashes that differ in every bit.
+     */
+    private static MultipartFile png(String name, boolean darkToTheRight) throws IOException {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 64; x++) {
+            int grey = (darkToTheRight ? 63 - x : x) * 4;
+            for (int y = 0; y < 64; y++) {
+                image.setRGB(x, y, new Color(grey, grey, grey).getRGB());
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return new MockMultipartFile("image", name, "image/png", output.toByteArray());
+    }
+}